@@ -0,0 +1,156 @@
+package Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.CompiledTree;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.LoggingMode;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+/**
+ * Measures single row classification latency and batch classification throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ClassificationBenchmark
+{
+    private static final int SCORING_ROWS = 100000;
+
+    @Param({ "100000" })
+    int rowCount;
+
+    @Param({ "20" })
+    int attributeCount;
+
+    @Param({ "5", "50" })
+    int cardinality;
+
+    @Param({ "3" })
+    int classCount;
+
+    @Param({ "0.1" })
+    double noise;
+
+    DecisionTreeClassifier classifier;
+    CompiledTree compiledTree;
+    List<CSVData> scoringData;
+    ColumnarDataSet scoringColumnar;
+    int[][] encodedScoringData;
+    int[] classCodes;
+    String[] classes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() throws DataContextException
+    {
+        SyntheticData syntheticData = new SyntheticData(attributeCount, cardinality, classCount, noise, 1);
+        CSVDataContext dataContext = syntheticData.trainingContext(rowCount);
+        classifier = new DecisionTreeClassifier(new Tree(dataContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+        compiledTree = classifier.getCompiledTree();
+
+        CSVDataContext scoringContext = new CSVDataContext(syntheticData.attributes());
+        scoringData = new ArrayList<>();
+        encodedScoringData = new int[SCORING_ROWS][];
+
+        for (String row : syntheticData.scoringRows(SCORING_ROWS))
+        {
+            encodedScoringData[scoringData.size()] = compiledTree.encode(dataContext.parse(row));
+            scoringData.add(dataContext.parse(row));
+            scoringContext.addData(row, "");
+        }
+
+        scoringColumnar = scoringContext.getColumnarDataSet();
+        classCodes = new int[SCORING_ROWS];
+        classes = new String[SCORING_ROWS];
+    }
+
+    /**
+     * @return The index of the next scoring row, cycling through all rows
+     */
+    private int nextRow()
+    {
+        next = next + 1 == SCORING_ROWS ? 0 : next + 1;
+        return next;
+    }
+
+    @Benchmark
+    public ClassificationResult classify()
+    {
+        return classifier.classify(scoringData.get(nextRow()));
+    }
+
+    @Benchmark
+    public ClassificationResult classifyDeferredLogging()
+    {
+        return classifier.classify(scoringData.get(nextRow()), LoggingMode.DEFERRED);
+    }
+
+    @Benchmark
+    public ClassificationResult classifyWithoutLogging()
+    {
+        return classifier.classify(scoringData.get(nextRow()), LoggingMode.DISABLED);
+    }
+
+    @Benchmark
+    public String classifyToString()
+    {
+        return classifier.classify(scoringData.get(nextRow())).toString();
+    }
+
+    @Benchmark
+    public int classifyCompiled()
+    {
+        return compiledTree.classify(encodedScoringData[nextRow()]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void classifyBatchColumnar(Blackhole blackhole)
+    {
+        classifier.classifyBatch(scoringColumnar, classCodes, false);
+        blackhole.consume(classCodes);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void classifyBatchColumnarInParallel(Blackhole blackhole)
+    {
+        classifier.classifyBatch(scoringColumnar, classCodes, true);
+        blackhole.consume(classCodes);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void classifyBatchDataPoints(Blackhole blackhole)
+    {
+        classifier.classifyBatch(scoringData, classes, false);
+        blackhole.consume(classes);
+    }
+}
@@ -0,0 +1,164 @@
+package Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationCache;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.CompiledTree;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.LoggingMode;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+/**
+ * Measures single row classification throughput of one classifier shared between many threads. Classification takes no
+ * locks, so the throughput per thread should hold as threads are added up to the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ContentionBenchmark
+{
+    private static final int SCORING_ROWS = 10000;
+
+    @Param({ "100000" })
+    int rowCount;
+
+    @Param({ "20" })
+    int attributeCount;
+
+    @Param({ "50" })
+    int cardinality;
+
+    @Param({ "3" })
+    int classCount;
+
+    @Param({ "0.1" })
+    double noise;
+
+    DecisionTreeClassifier classifier;
+    CompiledTree compiledTree;
+    ClassificationCache cache;
+    List<CSVData> scoringData;
+    int[][] encodedScoringData;
+
+    /**
+     * The position of each thread in the scoring rows, so that threads do not contend on a shared counter.
+     */
+    @State(Scope.Thread)
+    public static class Cursor
+    {
+        int next;
+
+        @Setup(Level.Trial)
+        public void setup()
+        {
+            next = (int) (Thread.currentThread().getId() * 7919 % SCORING_ROWS);
+        }
+
+        /**
+         * @return The index of the next scoring row, cycling through all rows
+         */
+        int nextRow()
+        {
+            next = next + 1 == SCORING_ROWS ? 0 : next + 1;
+            return next;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws DataContextException
+    {
+        SyntheticData syntheticData = new SyntheticData(attributeCount, cardinality, classCount, noise, 1);
+        CSVDataContext dataContext = syntheticData.trainingContext(rowCount);
+        classifier = new DecisionTreeClassifier(new Tree(dataContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+        compiledTree = classifier.getCompiledTree();
+        cache = new ClassificationCache(classifier, SCORING_ROWS);
+
+        scoringData = new ArrayList<>();
+        encodedScoringData = new int[SCORING_ROWS][];
+
+        for (String row : syntheticData.scoringRows(SCORING_ROWS))
+        {
+            encodedScoringData[scoringData.size()] = compiledTree.encode(dataContext.parse(row));
+            scoringData.add(dataContext.parse(row));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ClassificationResult classifySingleThread(Cursor cursor)
+    {
+        return classifier.classify(scoringData.get(cursor.nextRow()), LoggingMode.DISABLED);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ClassificationResult classifyAllThreads(Cursor cursor)
+    {
+        return classifier.classify(scoringData.get(cursor.nextRow()), LoggingMode.DISABLED);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ClassificationResult classifyWithLoggingAllThreads(Cursor cursor)
+    {
+        return classifier.classify(scoringData.get(cursor.nextRow()));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int classifyCompiledAllThreads(Cursor cursor)
+    {
+        return compiledTree.classify(encodedScoringData[cursor.nextRow()]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ClassificationResult classifyCachedAllThreads(Cursor cursor)
+    {
+        // Every scoring row fits in the cache, so after warm up each classification is a hit
+        return cache.classify(scoringData.get(cursor.nextRow()));
+    }
+
+    @Benchmark
+    @Group("classifyWhileRendering")
+    @GroupThreads(7)
+    public ClassificationResult classifyAlongsideRendering(Cursor cursor)
+    {
+        return classifier.classify(scoringData.get(cursor.nextRow()), LoggingMode.DISABLED);
+    }
+
+    @Benchmark
+    @Group("classifyWhileRendering")
+    @GroupThreads(1)
+    public String renderAlongsideClassifying()
+    {
+        return classifier.toSingleLineString();
+    }
+}
@@ -0,0 +1,77 @@
+package Benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.CSVFileLoader;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+
+/**
+ * Measures the time to load training data, row by row through a data context and in bulk through the file loader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataLoadingBenchmark
+{
+    @Param({ "100000" })
+    int rowCount;
+
+    @Param({ "20" })
+    int attributeCount;
+
+    @Param({ "5", "1000" })
+    int cardinality;
+
+    SyntheticData syntheticData;
+    List<String> rows;
+    byte[] csvFile;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        syntheticData = new SyntheticData(attributeCount, cardinality, 3, 0.1, 1);
+        rows = syntheticData.scoringRows(rowCount);
+        csvFile = syntheticData.csvFile(rowCount).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public CSVDataContext addData() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext(syntheticData.attributes());
+
+        for (String row : rows)
+        {
+            dataContext.addData(row, "C0");
+        }
+
+        return dataContext;
+    }
+
+    @Benchmark
+    public ColumnarDataSet loadFile() throws IOException, DataContextException
+    {
+        return new CSVFileLoader("Class").load(new ByteArrayInputStream(csvFile));
+    }
+}
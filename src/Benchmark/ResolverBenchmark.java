@@ -0,0 +1,92 @@
+package Benchmark;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+/**
+ * Measures the cost of the resolvers invoked for inconsistent training data and unseen values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResolverBenchmark
+{
+    @Param({ "1000" })
+    int rowCount;
+
+    @Param({ "5", "100" })
+    int cardinality;
+
+    List<CSVData> dataSet;
+    TreeMap<String, Node> children;
+    DecisionNode preparedNode;
+    MostCommonClassResolver mostCommonClassResolver = new MostCommonClassResolver();
+    MostCommonValueResolver mostCommonValueResolver = new MostCommonValueResolver();
+
+    @Setup(Level.Trial)
+    public void setup() throws DataContextException
+    {
+        dataSet = new SyntheticData(5, cardinality, 3, 0.5, 1).trainingContext(rowCount).getDataSet();
+        children = new TreeMap<>();
+
+        for (int value = 0; value < cardinality; value++)
+        {
+            children.put("v" + value, new LeafNode("C0", "", value % 7));
+        }
+
+        DecisionNode root = new DecisionNode("Attr0", mostCommonValueResolver, 1.0, rowCount);
+        for (int value = 0; value < cardinality; value++)
+        {
+            root.addChild("v" + value, new LeafNode("C0", "", value % 7));
+        }
+
+        // Constructing a tree freezes its nodes, preparing the child each follows for unseen values
+        Tree preparedTree = new Tree(root);
+        preparedNode = (DecisionNode) preparedTree.getRoot();
+    }
+
+    @Benchmark
+    public String mostCommonClass()
+    {
+        return mostCommonClassResolver.getClass(dataSet);
+    }
+
+    @Benchmark
+    public String mostCommonValue()
+    {
+        return mostCommonValueResolver.resolve("Attr0", "unseen", children, null);
+    }
+
+    @Benchmark
+    public Node unseenValuePrepared() throws TreeNavigationException
+    {
+        return preparedNode.nextNode("unseen", null);
+    }
+}
@@ -0,0 +1,168 @@
+package Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+
+/**
+ * Generates synthetic training data with a controllable shape.
+ * The class of each row is a function of the first few attributes, with a proportion of rows given a random class
+ * instead to model noise.
+ */
+public class SyntheticData
+{
+    private final int attributeCount;
+    private final int cardinality;
+    private final int classCount;
+    private final double noise;
+    private final Random random;
+
+    /**
+     * @param attributeCount Number of attributes
+     * @param cardinality    Number of distinct values of each attribute
+     * @param classCount     Number of distinct classes
+     * @param noise          Proportion of rows, between 0 and 1, assigned a random class
+     * @param seed           Random seed, the same seed always generates the same data
+     */
+    public SyntheticData(int attributeCount, int cardinality, int classCount, double noise, long seed)
+    {
+        this.attributeCount = attributeCount;
+        this.cardinality = cardinality;
+        this.classCount = classCount;
+        this.noise = noise;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @return Comma separated attribute names
+     */
+    public String attributes()
+    {
+        StringBuilder attributes = new StringBuilder();
+
+        for (int attribute = 0; attribute < attributeCount; attribute++)
+        {
+            attributes.append(attribute == 0 ? "" : ",").append("Attr").append(attribute);
+        }
+
+        return attributes.toString();
+    }
+
+    /**
+     * Creates a data context holding generated training rows.
+     *
+     * @param rowCount Number of rows
+     * @return The data context
+     * @throws DataContextException if the generated data is invalid
+     */
+    public CSVDataContext trainingContext(int rowCount) throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext(attributes());
+
+        for (int row = 0; row < rowCount; row++)
+        {
+            int[] values = nextValues();
+            dataContext.addData(toCSV(values), classOf(values));
+        }
+
+        return dataContext;
+    }
+
+    /**
+     * Generates unlabelled rows, with a small proportion of values not seen in training.
+     *
+     * @param rowCount Number of rows
+     * @return Comma separated values of each row
+     */
+    public List<String> scoringRows(int rowCount)
+    {
+        ArrayList<String> rows = new ArrayList<>(rowCount);
+
+        for (int row = 0; row < rowCount; row++)
+        {
+            int[] values = nextValues();
+
+            if (random.nextInt(100) == 0)
+            {
+                values[random.nextInt(attributeCount)] = cardinality;
+            }
+
+            rows.add(toCSV(values));
+        }
+
+        return rows;
+    }
+
+    /**
+     * Generates labelled rows as the text of a comma separated file with a header row and a "Class" column.
+     *
+     * @param rowCount Number of rows
+     * @return The file content
+     */
+    public String csvFile(int rowCount)
+    {
+        StringBuilder file = new StringBuilder(attributes()).append(",Class\n");
+
+        for (int row = 0; row < rowCount; row++)
+        {
+            int[] values = nextValues();
+            file.append(toCSV(values)).append(',').append(classOf(values)).append('\n');
+        }
+
+        return file.toString();
+    }
+
+    /**
+     * @return Randomly chosen value codes, one per attribute
+     */
+    private int[] nextValues()
+    {
+        int[] values = new int[attributeCount];
+
+        for (int attribute = 0; attribute < attributeCount; attribute++)
+        {
+            values[attribute] = random.nextInt(cardinality);
+        }
+
+        return values;
+    }
+
+    /**
+     * @param values Value codes of a row
+     * @return The class of the row
+     */
+    private String classOf(int[] values)
+    {
+        if (random.nextDouble() < noise)
+        {
+            return "C" + random.nextInt(classCount);
+        }
+
+        int sum = 0;
+        for (int attribute = 0; attribute < Math.min(3, attributeCount); attribute++)
+        {
+            sum = sum * cardinality + values[attribute];
+        }
+
+        return "C" + sum % classCount;
+    }
+
+    /**
+     * @param values Value codes of a row
+     * @return The row as comma separated values
+     */
+    private static String toCSV(int[] values)
+    {
+        StringBuilder csv = new StringBuilder();
+
+        for (int attribute = 0; attribute < values.length; attribute++)
+        {
+            csv.append(attribute == 0 ? "" : ",").append('v').append(values[attribute]);
+        }
+
+        return csv.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+/**
+ * Measures the time to train a decision tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrainingBenchmark
+{
+    @Param({ "10000", "100000" })
+    int rowCount;
+
+    @Param({ "10", "40" })
+    int attributeCount;
+
+    @Param({ "5" })
+    int cardinality;
+
+    @Param({ "3" })
+    int classCount;
+
+    @Param({ "0.1" })
+    double noise;
+
+    CSVDataContext dataContext;
+    ColumnarDataSet columnarDataSet;
+    TrainingOptions parallelOptions;
+
+    @Setup(Level.Trial)
+    public void setup() throws DataContextException
+    {
+        dataContext = new SyntheticData(attributeCount, cardinality, classCount, noise, 1).trainingContext(rowCount);
+        columnarDataSet = dataContext.getColumnarDataSet();
+        parallelOptions = new TrainingOptions();
+        parallelOptions.setParallelism(Runtime.getRuntime().availableProcessors());
+        parallelOptions.setParallelThreshold(1000);
+        parallelOptions.setParallelGainThreshold(10000);
+    }
+
+    @Benchmark
+    public Tree buildFromDataPoints()
+    {
+        return new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    @Benchmark
+    public Tree buildFromColumnar()
+    {
+        return new Tree(columnarDataSet, new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    @Benchmark
+    public Tree buildFromColumnarInParallel()
+    {
+        return new Tree(columnarDataSet, new MostCommonClassResolver(), new MostCommonValueResolver(), null, parallelOptions);
+    }
+
+    @Benchmark
+    public ColumnarDataSet encodeColumnar()
+    {
+        return dataContext.getColumnarDataSet();
+    }
+}
@@ -8,7 +8,7 @@ import java.util.stream.Collectors;
 import DecisionTree.Data.IData;
 
 /**
- * Returns the most common classification in the dataset, and the earliest alphabetically in the event of a tie.
+ * Returns the most common classification in the dataset counting the weight of each data point, and the earliest alphabetically in the event of a tie.
  */
 public class MostCommonClassResolver implements IResolveAllAttributesUsed
 {
@@ -16,7 +16,7 @@ public class MostCommonClassResolver implements IResolveAllAttributesUsed
     public String getClass(List<? extends IData> dataSet)
     {
         return dataSet.stream().collect(
-                Collectors.groupingBy(dataPoint -> dataPoint.assignedClass(), Collectors.counting())).entrySet()
+                Collectors.groupingBy(dataPoint -> dataPoint.assignedClass(), Collectors.summingLong(dataPoint -> dataPoint.getWeight()))).entrySet()
                 .stream().max(Comparator.comparing((Entry<String, Long> entry) -> entry.getValue())
                         .thenComparing(Entry::getKey, Comparator.reverseOrder()))
                 .get().getKey();
@@ -0,0 +1,311 @@
+package DecisionTree.Classification;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import DecisionTree.Data.IData;
+
+/**
+ * Caches the classifications of a classifier for traffic that repeats the same combinations of attribute values.
+ * Data points are encoded against the compiled tree, so only the attributes the tree tests form the key and every value
+ * not seen in training shares the code of an unknown value, as in batch classification. Results are rebuilt from the
+ * cached path for each data point, so their log describes the values of that data point. A path that substitutes a
+ * value at a node whose unseen value resolver chooses for each value depends on more than the key, so the key is only
+ * marked and each such data point is classified by the classifier, counting as a miss.
+ *
+ * The cache is bounded, evicting by the CLOCK approximation of least recently used, and hashed by 64 bits of the
+ * encoded values with the values held to detect collisions. Lookups and insertions take no locks, so the size may
+ * briefly exceed the capacity by the number of threads inserting. It is emptied whenever the model changes.
+ */
+public class ClassificationCache
+{
+    private final Supplier<DecisionTreeClassifier> classifier;
+    private final int capacity;
+    private final AtomicReference<Generation> generation = new AtomicReference<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a new cache in front of a single classifier.
+     *
+     * @param classifier The classifier
+     * @param capacity   The maximum number of cached classifications, at least 1
+     */
+    public ClassificationCache(DecisionTreeClassifier classifier, int capacity)
+    {
+        this(() -> classifier, capacity);
+    }
+
+    /**
+     * Creates a new cache in front of the live model of a model holder, emptied whenever a new model is installed.
+     *
+     * @param holder   The model holder
+     * @param capacity The maximum number of cached classifications, at least 1
+     */
+    public ClassificationCache(ModelHolder holder, int capacity)
+    {
+        this(holder::get, capacity);
+    }
+
+    /**
+     * @param classifier Provides the classifier of the current model
+     * @param capacity   The maximum number of cached classifications, at least 1
+     */
+    private ClassificationCache(Supplier<DecisionTreeClassifier> classifier, int capacity)
+    {
+        if (capacity < 1)
+        {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+
+        this.classifier = classifier;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Classifies a new data point, from the cache where the same tested attribute values have been classified before.
+     *
+     * @param data The data to classify
+     * @return The classification result, whose log is rendered from the cached path when it is read
+     */
+    public ClassificationResult classify(IData data)
+    {
+        DecisionTreeClassifier currentClassifier = classifier.get();
+        Generation currentGeneration = generation(currentClassifier);
+        CompiledTree compiledTree = currentClassifier.getCompiledTree();
+
+        int[] encodedData = compiledTree.encode(data);
+        long hash = hash(encodedData);
+        CachedClassification cached = currentGeneration.entries.get(hash);
+
+        if (cached != null && Arrays.equals(cached.encodedData, encodedData))
+        {
+            if (cached.path == null)
+            {
+                misses.increment();
+                return currentClassifier.classify(data);
+            }
+
+            if (!cached.referenced)
+            {
+                cached.referenced = true;
+            }
+
+            hits.increment();
+        }
+        else
+        {
+            misses.increment();
+            ClassificationPath path = new ClassificationPath();
+            int classCode = compiledTree.classify(encodedData, data, path);
+            cached = new CachedClassification(hash, encodedData, classCode, dependsOnValues(compiledTree, path) ? null : path.toArray());
+            currentGeneration.add(cached);
+
+            if (cached.path == null)
+            {
+                return currentClassifier.classify(data);
+            }
+        }
+
+        ClassificationResult result = new ClassificationResult();
+        result.setStatus(cached.classCode < 0 ? Status.FAILED : Status.SUCCEEDED);
+        result.setAssignedClass(currentClassifier.getClassName(cached.classCode));
+        result.setPath(new ClassificationPath(cached.path), currentClassifier.getTree(), data);
+        result.setModelVersion(currentClassifier.getVersion());
+
+        return result;
+    }
+
+    /**
+     * Removes all cached classifications.
+     */
+    public void invalidate()
+    {
+        generation.set(null);
+    }
+
+    /**
+     * @return The number of classifications answered from the cache
+     */
+    public long getHitCount()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of classifications not found in the cache
+     */
+    public long getMissCount()
+    {
+        return misses.sum();
+    }
+
+    /**
+     * @return The proportion of classifications answered from the cache, 0 before any classification
+     */
+    public double getHitRate()
+    {
+        long hitCount = hits.sum(), total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * @return The number of cached classifications
+     */
+    public int size()
+    {
+        Generation currentGeneration = generation.get();
+        return currentGeneration == null ? 0 : currentGeneration.entries.size();
+    }
+
+    /**
+     * Finds the cached classifications of a classifier, starting afresh when the model has changed. A classification
+     * still in flight on a model older than the cached one is given a generation of its own, which is not kept.
+     *
+     * @param currentClassifier The classifier of the current model
+     * @return The cached classifications of the classifier
+     */
+    private Generation generation(DecisionTreeClassifier currentClassifier)
+    {
+        Generation currentGeneration = generation.get();
+
+        if (currentGeneration != null && currentGeneration.classifier == currentClassifier)
+        {
+            return currentGeneration;
+        }
+
+        Generation next = new Generation(currentClassifier, capacity);
+
+        if ((currentGeneration == null || currentGeneration.classifier.getVersion() <= currentClassifier.getVersion())
+                && !generation.compareAndSet(currentGeneration, next))
+        {
+            // Another thread started the generation first
+            Generation installed = generation.get();
+            return installed != null && installed.classifier == currentClassifier ? installed : next;
+        }
+
+        return next;
+    }
+
+    /**
+     * Finds whether a path substitutes a value, or fails, at a node whose unseen value resolver chooses for each value,
+     * so that another data point with the same encoded values may take a different path.
+     *
+     * @param compiledTree The compiled tree the path was recorded in
+     * @param path         The path
+     * @return True if the path depends on more than the encoded values
+     */
+    private static boolean dependsOnValues(CompiledTree compiledTree, ClassificationPath path)
+    {
+        for (int step = 1; step < path.length(); step++)
+        {
+            if (path.isSubstitution(step) && compiledTree.getUnknownValueChild(path.getNodeId(step - 1)) < 0)
+            {
+                return true;
+            }
+        }
+
+        int last = path.length() - 1;
+        return path.isFailed() && last >= 0 && compiledTree.getNodeAttribute(path.getNodeId(last)) >= 0
+                && compiledTree.getUnknownValueChild(path.getNodeId(last)) < 0;
+    }
+
+    /**
+     * Hashes the encoded values of a data point to 64 bits.
+     *
+     * @param encodedData The coded value of each attribute of the compiled tree
+     * @return The hash
+     */
+    private static long hash(int[] encodedData)
+    {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int code : encodedData)
+        {
+            hash = (hash ^ code) * 0x100000001b3L;
+        }
+
+        // Final mix of MurmurHash3, so the bits the map hashes on depend on every value
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    /**
+     * The cached classifications of one model, with a ring of the cached entries swept by the CLOCK hand to evict.
+     */
+    private static class Generation
+    {
+        final DecisionTreeClassifier classifier;
+        final ConcurrentHashMap<Long, CachedClassification> entries = new ConcurrentHashMap<>();
+        final AtomicReferenceArray<CachedClassification> ring;
+        final AtomicLong hand = new AtomicLong();
+
+        Generation(DecisionTreeClassifier classifier, int capacity)
+        {
+            this.classifier = classifier;
+            this.ring = new AtomicReferenceArray<>(capacity);
+        }
+
+        /**
+         * Caches a classification unless its hash is already cached, taking the first slot of the ring the hand finds
+         * empty or holding an entry not used since the hand last passed, which is evicted. The hand clears the mark of
+         * each used entry it passes.
+         *
+         * @param cached The classification
+         */
+        void add(CachedClassification cached)
+        {
+            if (entries.putIfAbsent(cached.hash, cached) != null)
+            {
+                return;
+            }
+
+            while (true)
+            {
+                int slot = (int) (hand.getAndIncrement() % ring.length());
+                CachedClassification resident = ring.get(slot);
+
+                if (resident != null && resident.referenced)
+                {
+                    resident.referenced = false;
+                }
+                else if (ring.compareAndSet(slot, resident, cached))
+                {
+                    if (resident != null)
+                    {
+                        entries.remove(resident.hash, resident);
+                    }
+
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A cached classification, with the encoded values it was found for. The path is null where it depends on more
+     * than the encoded values, and the referenced mark is set when the entry is used, racing benignly with the hand.
+     */
+    private static class CachedClassification
+    {
+        final long hash;
+        final int[] encodedData;
+        final int classCode;
+        final int[] path;
+        boolean referenced = false;
+
+        CachedClassification(long hash, int[] encodedData, int classCode, int[] path)
+        {
+            this.hash = hash;
+            this.encodedData = encodedData;
+            this.classCode = classCode;
+            this.path = path;
+        }
+    }
+}
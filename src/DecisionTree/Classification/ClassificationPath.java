@@ -0,0 +1,225 @@
+package DecisionTree.Classification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
+
+/**
+ * Records the path a classification took through a decision tree as the ids of the nodes visited from the root, see
+ * {@link Node#getId()}. A node reached by substituting a value not seen in training is stored as the complement of its
+ * id, and a path whose navigation failed ends with a failure marker. Explanations are only rendered as text when requested.
+ */
+public class ClassificationPath
+{
+    private static final int FAILED = Integer.MIN_VALUE;
+
+    private int[] steps;
+    private int length = 0;
+    private boolean failed = false;
+
+    /**
+     * Creates a new empty path.
+     */
+    public ClassificationPath()
+    {
+        this.steps = new int[8];
+    }
+
+    /**
+     * Restores a path from the array created by {@link #toArray()}.
+     *
+     * @param steps The encoded path
+     */
+    public ClassificationPath(int[] steps)
+    {
+        this.failed = steps.length > 0 && steps[steps.length - 1] == FAILED;
+        this.length = failed ? steps.length - 1 : steps.length;
+        this.steps = Arrays.copyOf(steps, Math.max(length, 1));
+    }
+
+    /**
+     * @return The number of nodes visited
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * @param step Position on the path, starting from the root node at 0
+     * @return The id of the node visited
+     */
+    public int getNodeId(int step)
+    {
+        return steps[step] < 0 ? ~steps[step] : steps[step];
+    }
+
+    /**
+     * @param step Position on the path, starting from the root node at 0
+     * @return True if the node was reached by substituting a value not seen in training at the previous node
+     */
+    public boolean isSubstitution(int step)
+    {
+        return steps[step] < 0;
+    }
+
+    /**
+     * @return True if the navigation failed after the last node on the path
+     */
+    public boolean isFailed()
+    {
+        return failed;
+    }
+
+    /**
+     * @return The encoded path, suitable for storage and for {@link #ClassificationPath(int[])}
+     */
+    public int[] toArray()
+    {
+        int[] encoded = Arrays.copyOf(steps, failed ? length + 1 : length);
+
+        if (failed)
+        {
+            encoded[length] = FAILED;
+        }
+
+        return encoded;
+    }
+
+    /**
+     * Renders the explanation of the classification as log messages. Each node reached by substituting a value not seen
+     * in training, and the node whose navigation failed, is navigated again with the value of the data point, so that
+     * the messages are those the unseen value resolver logs when the classification runs.
+     *
+     * @param tree The tree the path was recorded in
+     * @param data The data point that was classified
+     * @return The log messages
+     */
+    public List<String> explain(Tree tree, IData data)
+    {
+        ArrayList<String> messages = new ArrayList<>();
+
+        for (int step = 1; step < length; step++)
+        {
+            if (isSubstitution(step))
+            {
+                renavigate((DecisionNode) tree.getNode(getNodeId(step - 1)), data, messages);
+            }
+        }
+
+        if (failed)
+        {
+            if (length > 0 && tree.getNode(getNodeId(length - 1)) instanceof DecisionNode)
+            {
+                renavigate((DecisionNode) tree.getNode(getNodeId(length - 1)), data, messages);
+            }
+
+            messages.add("Classification Failed");
+        }
+
+        return messages;
+    }
+
+    /**
+     * Navigates a decision node again with the value of the data point, collecting the messages logged.
+     *
+     * @param node     The decision node
+     * @param data     The data point that was classified
+     * @param messages Receives the messages logged
+     */
+    private static void renavigate(DecisionNode node, IData data, List<String> messages)
+    {
+        String attributeValue = data.getAttributeValue(node.getTargetAttribute());
+
+        if (attributeValue != null)
+        {
+            try
+            {
+                node.nextNode(attributeValue, messages::add);
+            }
+            catch (TreeNavigationException treeNavigationException)
+            {
+                // The navigation failed as it did when classified, after logging the same messages
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof ClassificationPath))
+        {
+            return false;
+        }
+
+        ClassificationPath otherPath = (ClassificationPath) other;
+        return failed == otherPath.failed && Arrays.equals(steps, 0, length, otherPath.steps, 0, otherPath.length);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = failed ? 1 : 0;
+        for (int step = 0; step < length; step++)
+        {
+            hash = 31 * hash + steps[step];
+        }
+
+        return hash;
+    }
+
+    /**
+     * @return The encoded path, with substituted nodes marked by ~ and failure by !
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder stringBuilder = new StringBuilder();
+
+        for (int step = 0; step < length; step++)
+        {
+            stringBuilder.append(step == 0 ? "" : ",").append(isSubstitution(step) ? "~" : "").append(getNodeId(step));
+        }
+
+        return failed ? stringBuilder.append(length == 0 ? "!" : ",!").toString() : stringBuilder.toString();
+    }
+
+    /**
+     * Appends a node to the path.
+     *
+     * @param nodeId      The id of the node
+     * @param substituted True if the node was reached by substituting a value not seen in training
+     */
+    void add(int nodeId, boolean substituted)
+    {
+        if (length == steps.length)
+        {
+            steps = Arrays.copyOf(steps, steps.length * 2);
+        }
+
+        steps[length++] = substituted ? ~nodeId : nodeId;
+    }
+
+    /**
+     * Marks the navigation as failed after the last node on the path.
+     */
+    void fail()
+    {
+        failed = true;
+    }
+
+    /**
+     * Empties the path so that it can be reused.
+     */
+    void clear()
+    {
+        length = 0;
+        failed = false;
+    }
+}
@@ -1,16 +1,24 @@
 package DecisionTree.Classification;
 
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.List;
+
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.Tree;
 
 /**
  * Holds the result of a classification and a log of how that result was derived.
+ * The path taken through the tree may be recorded instead of log messages, in which case the log is only rendered when it is read.
  */
 public class ClassificationResult
 {
-    private final ArrayList<String> classificationLog = new ArrayList<>();
+    private ArrayList<String> classificationLog = null;
+    private ClassificationPath path = null;
+    private Tree tree = null;
+    private IData data = null;
     private String assignedClass;
     private Status status = Status.NOT_RUN;
+    private long modelVersion;
 
     /**
      * Sets the assigned classification.
@@ -29,9 +37,36 @@ public class ClassificationResult
      **/
     public void log(String message)
     {
+        if (classificationLog == null)
+        {
+            classificationLog = new ArrayList<>();
+        }
+
         classificationLog.add(message);
     }
 
+    /**
+     * Records the path taken through the tree, from which the log is rendered if no messages have been logged.
+     *
+     * @param path The path
+     * @param tree The tree the path was recorded in
+     * @param data The classified data point
+     */
+    void setPath(ClassificationPath path, Tree tree, IData data)
+    {
+        this.path = path;
+        this.tree = tree;
+        this.data = data;
+    }
+
+    /**
+     * @return The path taken through the tree, or null unless the log was deferred or the result was cached
+     */
+    public ClassificationPath getPath()
+    {
+        return path;
+    }
+
     /**
      * @return The assigned classification
      **/
@@ -41,6 +76,22 @@ public class ClassificationResult
         return assignedClass;
     }
 
+    /**
+     * @return The version of the model that produced this result, as given to the {@link DecisionTreeClassifier}
+     **/
+    public long getModelVersion()
+    {
+        return modelVersion;
+    }
+
+    /**
+     * @param modelVersion The version of the model that produced this result
+     */
+    void setModelVersion(long modelVersion)
+    {
+        this.modelVersion = modelVersion;
+    }
+
     /**
      * @return The classification status
      **/
@@ -64,7 +115,8 @@ public class ClassificationResult
      **/
     public String toLongString()
     {
-        String logString = classificationLog.stream().collect(Collectors.joining(", "));
+        List<String> messages = classificationLog != null ? classificationLog : path != null ? path.explain(tree, data) : List.of();
+        String logString = String.join(", ", messages);
 
         if (status == Status.SUCCEEDED)
         {
@@ -4,6 +4,7 @@ import DecisionTree.Data.IData;
 import DecisionTree.Structure.DecisionNode;
 import DecisionTree.Structure.LeafNode;
 import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
 import DecisionTree.Structure.TreeNavigationException;
 
 /**
@@ -13,18 +14,23 @@ class ClassificationRunner
 {
     private final ClassificationResult classificationResult = new ClassificationResult();
     private final IData data;
-    private final Node rootNode;
+    private final Tree tree;
+    private final LoggingMode loggingMode;
+    private final ClassificationPath path;
 
     /**
      * Creates a new classification runner.
      *
-     * @param data     The data point to classify
-     * @param rootNode The root node of the target decision tree
+     * @param data        The data point to classify
+     * @param tree        The target decision tree
+     * @param loggingMode How the classification log is collected
      **/
-    public ClassificationRunner(IData data, Node rootNode)
+    public ClassificationRunner(IData data, Tree tree, LoggingMode loggingMode)
     {
         this.data = data;
-        this.rootNode = rootNode;
+        this.tree = tree;
+        this.loggingMode = loggingMode;
+        this.path = loggingMode == LoggingMode.DEFERRED ? new ClassificationPath() : null;
     }
 
     /**
@@ -34,7 +40,13 @@ class ClassificationRunner
      **/
     public ClassificationResult run()
     {
-        classifyData(rootNode);
+        if (path != null)
+        {
+            path.add(tree.getRoot().getId(), false);
+            classificationResult.setPath(path, tree, data);
+        }
+
+        classifyData(tree.getRoot());
         return classificationResult;
     }
 
@@ -52,12 +64,21 @@ class ClassificationRunner
 
             try
             {
-                classifyData(currentDecisionNode.nextNode(attributeValue, classificationResult::log));
+                classifyData(nextNode(currentDecisionNode, attributeValue));
             }
             catch (TreeNavigationException treeNavigationException)
             {
                 classificationResult.setStatus(Status.FAILED);
-                classificationResult.log("Classification Failed");
+
+                if (loggingMode == LoggingMode.EAGER)
+                {
+                    classificationResult.log("Classification Failed");
+                }
+
+                if (path != null)
+                {
+                    path.fail();
+                }
             }
         }
         else
@@ -66,4 +87,36 @@ class ClassificationRunner
             classificationResult.setAssignedClass(((LeafNode) currentNode).getClassification());
         }
     }
+
+    /**
+     * Navigates from a decision node to the child for the given value, recording the step on the path if the log is
+     * deferred, or logging any substitution of an unseen value if it is eager.
+     *
+     * @param decisionNode   The decision node
+     * @param attributeValue The value of the attribute the node splits on
+     * @return The next node
+     * @throws TreeNavigationException If the unseen value resolver cannot provide an alternative value
+     */
+    private Node nextNode(DecisionNode decisionNode, String attributeValue) throws TreeNavigationException
+    {
+        if (path == null)
+        {
+            return decisionNode.nextNode(attributeValue, loggingMode == LoggingMode.EAGER ? classificationResult::log : null);
+        }
+
+        Node child = decisionNode.getChild(attributeValue);
+        boolean substituted = child == null;
+
+        if (substituted)
+        {
+            child = decisionNode.nextNode(attributeValue, null);
+        }
+
+        if (child != null)
+        {
+            path.add(child.getId(), substituted);
+        }
+
+        return child;
+    }
 }
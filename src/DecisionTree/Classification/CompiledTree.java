@@ -0,0 +1,657 @@
+package DecisionTree.Classification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import DecisionTree.Data.CodedColumn;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.ThresholdNode;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
+
+/**
+ * A trained decision tree flattened into primitive arrays for fast, allocation free classification of pre-encoded data.
+ * Nodes are numbered in depth first order, with the children of each decision node in order of their attribute value.
+ * Each decision node holds a child table entry for each value seen at that node, sorted by code and found by binary
+ * search. Values not seen at a node follow the child prepared by the unseen value resolver, or where the resolver
+ * chooses for each value, are passed to the node itself with the value of the data point.
+ * A numeric attribute is coded by the interval between the distinct thresholds it is split at anywhere in the tree, so
+ * that each threshold node holds a child table entry for the intervals on either side of its threshold.
+ */
+public class CompiledTree
+{
+    private final List<String> attributes;
+    private final List<HashMap<String, Integer>> codesByValue;
+    private final String[][] dictionaries;
+    private final double[][] thresholds;
+    private final String[] classes;
+    private final int[] nodeAttribute;
+    private final int[] childOffset;
+    private final int[] unknownValueChild;
+    private final int[] leafClass;
+    private final int[] childCodes;
+    private final int[] childTable;
+    private final Node[] nodes;
+
+    /**
+     * Compiles the given tree.
+     *
+     * @param tree The trained tree
+     */
+    public CompiledTree(Tree tree)
+    {
+        ArrayList<Node> nodes = new ArrayList<>();
+        ArrayList<String> attributes = new ArrayList<>();
+        HashMap<String, TreeSet<String>> values = new HashMap<>();
+        HashMap<String, TreeMap<Double, String>> thresholds = new HashMap<>();
+        TreeSet<String> classes = new TreeSet<>();
+        collectNodes(tree.getRoot(), nodes, attributes, values, thresholds, classes);
+
+        this.nodes = nodes.toArray(new Node[0]);
+        this.attributes = List.copyOf(attributes);
+        this.codesByValue = new ArrayList<>();
+        this.dictionaries = new String[attributes.size()][];
+        this.thresholds = new double[attributes.size()][];
+        this.classes = classes.toArray(new String[0]);
+
+        for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+        {
+            TreeMap<Double, String> attributeThresholds = thresholds.get(attributes.get(attributeIndex));
+            codesByValue.add(new HashMap<>());
+
+            if (attributeThresholds != null)
+            {
+                dictionaries[attributeIndex] = attributeThresholds.values().toArray(new String[0]);
+                this.thresholds[attributeIndex] = attributeThresholds.keySet().stream().mapToDouble(Double::doubleValue).toArray();
+                continue;
+            }
+
+            dictionaries[attributeIndex] = values.get(attributes.get(attributeIndex)).toArray(new String[0]);
+
+            for (int code = 0; code < dictionaries[attributeIndex].length; code++)
+            {
+                codesByValue.get(attributeIndex).put(dictionaries[attributeIndex][code], code);
+            }
+        }
+
+        this.nodeAttribute = new int[nodes.size()];
+        this.childOffset = new int[nodes.size() + 1];
+        this.unknownValueChild = new int[nodes.size()];
+        this.leafClass = new int[nodes.size()];
+
+        int childTableSize = 0;
+        for (int index = 0; index < nodes.size(); index++)
+        {
+            childOffset[index] = childTableSize;
+
+            if (nodes.get(index) instanceof DecisionNode)
+            {
+                DecisionNode node = (DecisionNode) nodes.get(index);
+                nodeAttribute[index] = attributes.indexOf(node.getTargetAttribute());
+                unknownValueChild[index] = node.getPreparedChild() == null ? -1 : node.getPreparedChild().getId();
+                childTableSize += node instanceof ThresholdNode ? 2 : node.getChildren().size();
+            }
+            else
+            {
+                nodeAttribute[index] = -1;
+                leafClass[index] = Arrays.binarySearch(this.classes, ((LeafNode) nodes.get(index)).getClassification());
+            }
+        }
+
+        childOffset[nodes.size()] = childTableSize;
+        this.childCodes = new int[childTableSize];
+        this.childTable = new int[childTableSize];
+
+        for (int index = 0; index < nodes.size(); index++)
+        {
+            int position = childOffset[index];
+
+            if (nodes.get(index) instanceof ThresholdNode)
+            {
+                // Intervals up to the node's own threshold lie at or below it, the rest above it
+                ThresholdNode node = (ThresholdNode) nodes.get(index);
+                childCodes[position] = Arrays.binarySearch(this.thresholds[nodeAttribute[index]], node.getThreshold());
+                childTable[position] = node.getChild(false) == null ? -1 : node.getChild(false).getId();
+                childCodes[position + 1] = this.thresholds[nodeAttribute[index]].length;
+                childTable[position + 1] = node.getChild(true) == null ? -1 : node.getChild(true).getId();
+            }
+            else if (nodes.get(index) instanceof DecisionNode)
+            {
+                // The children are sorted by value, as is the dictionary, so their codes ascend
+                for (Entry<String, Node> child : ((DecisionNode) nodes.get(index)).getChildren())
+                {
+                    childCodes[position] = codesByValue.get(nodeAttribute[index]).get(child.getKey());
+                    childTable[position++] = child.getValue().getId();
+                }
+            }
+        }
+    }
+
+    /**
+     * Classifies a data point encoded by {@link #encode(IData, int[])}, without allocating. A value seen in training at
+     * another node is passed to a node whose unseen value resolver chooses for each value, but a value not known at all
+     * cannot be, and fails the classification at such a node, see {@link #classify(int[], IData)}.
+     *
+     * @param encodedData The coded value of each attribute of the compiled tree
+     * @return The code of the assigned class, or -1 if the classification failed
+     */
+    public int classify(int[] encodedData)
+    {
+        return classify(encodedData, (IData) null);
+    }
+
+    /**
+     * Classifies a data point encoded by {@link #encode(IData, int[])}, without allocating. The data point provides the
+     * value to pass to a node whose unseen value resolver chooses for each value.
+     *
+     * @param encodedData The coded value of each attribute of the compiled tree
+     * @param data        The data point that was encoded, or null if it is not available
+     * @return The code of the assigned class, or -1 if the classification failed
+     */
+    public int classify(int[] encodedData, IData data)
+    {
+        int node = 0;
+
+        while (nodeAttribute[node] >= 0)
+        {
+            int code = encodedData[nodeAttribute[node]];
+            int next = seenChild(node, code);
+            node = next >= 0 ? next : substituteChild(node, valueOf(nodeAttribute[node], code, data));
+
+            if (node < 0)
+            {
+                return -1;
+            }
+        }
+
+        return leafClass[node];
+    }
+
+    /**
+     * Classifies a data point encoded by {@link #encode(IData, int[])}, recording the path taken through the tree.
+     *
+     * @param encodedData The coded value of each attribute of the compiled tree
+     * @param path        Receives the path, after any path it already holds has been cleared
+     * @return The code of the assigned class, or -1 if the classification failed
+     */
+    public int classify(int[] encodedData, ClassificationPath path)
+    {
+        return classify(encodedData, null, path);
+    }
+
+    /**
+     * Classifies a data point encoded by {@link #encode(IData, int[])}, recording the path taken through the tree.
+     *
+     * @param encodedData The coded value of each attribute of the compiled tree
+     * @param data        The data point that was encoded, or null if it is not available
+     * @param path        Receives the path, after any path it already holds has been cleared
+     * @return The code of the assigned class, or -1 if the classification failed
+     */
+    public int classify(int[] encodedData, IData data, ClassificationPath path)
+    {
+        int node = 0;
+        path.clear();
+        path.add(node, false);
+
+        while (nodeAttribute[node] >= 0)
+        {
+            int code = encodedData[nodeAttribute[node]];
+            int next = seenChild(node, code);
+            boolean substituted = next < 0;
+
+            if (substituted)
+            {
+                next = substituteChild(node, valueOf(nodeAttribute[node], code, data));
+            }
+
+            if (next < 0)
+            {
+                path.fail();
+                return -1;
+            }
+
+            path.add(next, substituted);
+            node = next;
+        }
+
+        return leafClass[node];
+    }
+
+    /**
+     * Classifies a range of rows of a columnar data set, reading only the attributes tested on the path of each row.
+     *
+     * @param dataSet    The data set
+     * @param codeMaps   Maps the codes of the data set to the codes of this compiled tree, as created by {@link #codeMaps(ColumnarDataSet)}
+     * @param from       First row to classify
+     * @param to         Row after the last row to classify
+     * @param classCodes Receives the code of the assigned class of each row at the position of the row, or -1 where the classification failed
+     * @param paths      Receives the path of each row at the position of the row, reusing any path already there, or null to record no paths
+     */
+    void classify(ColumnarDataSet dataSet, int[][] codeMaps, int from, int to, int[] classCodes, ClassificationPath[] paths)
+    {
+        int[] dataSetAttributes = new int[attributes.size()];
+        CodedColumn[] columns = new CodedColumn[attributes.size()];
+        for (int attributeIndex = 0; attributeIndex < columns.length; attributeIndex++)
+        {
+            dataSetAttributes[attributeIndex] = dataSet.getAttributeIndex(attributes.get(attributeIndex));
+            columns[attributeIndex] = dataSetAttributes[attributeIndex] < 0 ? null : dataSet.getColumn(dataSetAttributes[attributeIndex]);
+        }
+
+        for (int row = from; row < to; row++)
+        {
+            int node = 0;
+
+            if (paths != null)
+            {
+                if (paths[row] == null)
+                {
+                    paths[row] = new ClassificationPath();
+                }
+
+                paths[row].clear();
+                paths[row].add(node, false);
+            }
+
+            while (nodeAttribute[node] >= 0)
+            {
+                int attributeIndex = nodeAttribute[node];
+                int code = columns[attributeIndex] == null ? -1 : codeMaps[attributeIndex][columns[attributeIndex].get(row)];
+                int next = seenChild(node, code);
+                boolean substituted = next < 0;
+
+                if (substituted)
+                {
+                    next = substituteChild(node, columns[attributeIndex] == null ? null : dataSet.getValue(dataSetAttributes[attributeIndex], columns[attributeIndex].get(row)));
+                }
+
+                if (next < 0)
+                {
+                    if (paths != null)
+                    {
+                        paths[row].fail();
+                    }
+
+                    break;
+                }
+
+                if (paths != null)
+                {
+                    paths[row].add(next, substituted);
+                }
+
+                node = next;
+            }
+
+            classCodes[row] = nodeAttribute[node] >= 0 ? -1 : leafClass[node];
+        }
+    }
+
+    /**
+     * Maps the dictionary codes of a columnar data set onto the codes of this compiled tree.
+     *
+     * @param dataSet The data set
+     * @return For each attribute of the compiled tree, the compiled code of each data set code, or -1 for values not seen in training
+     */
+    int[][] codeMaps(ColumnarDataSet dataSet)
+    {
+        int[][] codeMaps = new int[attributes.size()][];
+
+        for (int attributeIndex = 0; attributeIndex < codeMaps.length; attributeIndex++)
+        {
+            int dataSetAttributeIndex = dataSet.getAttributeIndex(attributes.get(attributeIndex));
+
+            if (dataSetAttributeIndex >= 0)
+            {
+                codeMaps[attributeIndex] = new int[dataSet.getCardinality(dataSetAttributeIndex)];
+
+                for (int code = 0; code < codeMaps[attributeIndex].length; code++)
+                {
+                    codeMaps[attributeIndex][code] = encode(attributeIndex, dataSet.getValue(dataSetAttributeIndex, code));
+                }
+            }
+        }
+
+        return codeMaps;
+    }
+
+    /**
+     * Encodes a data point for classification by this compiled tree.
+     *
+     * @param data        The data point
+     * @param encodedData Receives the coded value of each attribute of the compiled tree, -1 for values not seen in training
+     */
+    public void encode(IData data, int[] encodedData)
+    {
+        for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+        {
+            encodedData[attributeIndex] = encode(attributeIndex, data.getAttributeValue(attributes.get(attributeIndex)));
+        }
+    }
+
+    /**
+     * Encodes a data point for classification by this compiled tree.
+     *
+     * @param data The data point
+     * @return The coded value of each attribute of the compiled tree, -1 for values not seen in training
+     */
+    public int[] encode(IData data)
+    {
+        int[] encodedData = new int[attributes.size()];
+        encode(data, encodedData);
+        return encodedData;
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list of the compiled tree
+     * @param value          The value
+     * @return The code of the value, or -1 if the value was not seen in training or is not a number for a numeric attribute
+     */
+    public int encode(int attributeIndex, String value)
+    {
+        if (thresholds[attributeIndex] != null)
+        {
+            return encodeNumber(thresholds[attributeIndex], ThresholdNode.parse(value));
+        }
+
+        Integer code = codesByValue.get(attributeIndex).get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * @param thresholds The distinct thresholds of a numeric attribute in ascending order
+     * @param value      The value of the attribute
+     * @return The number of thresholds below the value, or -1 if the value is not a number
+     */
+    static int encodeNumber(double[] thresholds, double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return -1;
+        }
+
+        int low = 0;
+        int high = thresholds.length;
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (thresholds[middle] < value)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @return The attributes tested by the tree, in the order expected by {@link #classify(int[])}
+     */
+    public List<String> getAttributes()
+    {
+        return attributes;
+    }
+
+    /**
+     * @param code The code of a class
+     * @return The class name
+     */
+    public String getClassName(int code)
+    {
+        return classes[code];
+    }
+
+    /**
+     * @return The number of distinct classes the tree can assign
+     */
+    public int getClassCount()
+    {
+        return classes.length;
+    }
+
+    /**
+     * @return The number of nodes in the tree
+     */
+    public int getNodeCount()
+    {
+        return nodeAttribute.length;
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list of the compiled tree
+     * @return The number of distinct values of the attribute seen in training, or of intervals between the thresholds of a numeric attribute
+     */
+    public int getCardinality(int attributeIndex)
+    {
+        return thresholds[attributeIndex] != null ? dictionaries[attributeIndex].length + 1 : dictionaries[attributeIndex].length;
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list of the compiled tree
+     * @param code           The code of a value, or the position of a threshold of a numeric attribute
+     * @return The value, or the threshold as it appears in the training data
+     */
+    public String getValue(int attributeIndex, int code)
+    {
+        return dictionaries[attributeIndex][code];
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list of the compiled tree
+     * @return True if the attribute is numeric and coded by the intervals between its thresholds
+     */
+    public boolean isNumeric(int attributeIndex)
+    {
+        return thresholds[attributeIndex] != null;
+    }
+
+    /**
+     * @param attributeIndex Position of the numeric attribute in the attribute list of the compiled tree
+     * @return The number of distinct thresholds the attribute is split at
+     */
+    public int getThresholdCount(int attributeIndex)
+    {
+        return thresholds[attributeIndex].length;
+    }
+
+    /**
+     * @param index Position of the node in depth first order
+     * @return The node
+     */
+    Node getNode(int index)
+    {
+        return nodes[index];
+    }
+
+    /**
+     * @param index Position of the node in depth first order
+     * @return The attribute the node splits on, or -1 for a leaf node
+     */
+    int getNodeAttribute(int index)
+    {
+        return nodeAttribute[index];
+    }
+
+    /**
+     * @param index Position of the decision node in depth first order
+     * @return Position of the first child table entry of the node
+     */
+    int getChildOffset(int index)
+    {
+        return childOffset[index];
+    }
+
+    /**
+     * @param index Position of the decision node in depth first order
+     * @return The number of child table entries of the node, two for a threshold node
+     */
+    int getChildCount(int index)
+    {
+        return childOffset[index + 1] - childOffset[index];
+    }
+
+    /**
+     * @param position Position in the child table
+     * @return The code of the value the entry is for, or the last interval on its side of the threshold for a threshold node
+     */
+    int getChildCode(int position)
+    {
+        return childCodes[position];
+    }
+
+    /**
+     * @param position Position in the child table
+     * @return Position of the child node, or -1 if no training data fell on that side of the threshold of a threshold node
+     */
+    int getChildTableEntry(int position)
+    {
+        return childTable[position];
+    }
+
+    /**
+     * @param index Position of the decision node in depth first order
+     * @return Position of the child node prepared by the unseen value resolver for every unseen value, or -1 if the
+     * resolver chooses for each value
+     */
+    int getUnknownValueChild(int index)
+    {
+        return unknownValueChild[index];
+    }
+
+    /**
+     * Finds the child a decision node navigates to for a value not seen at that node, calling the node for resolvers
+     * that choose for each value.
+     *
+     * @param index Position of the decision node in depth first order
+     * @param value The attribute value
+     * @return The position of the child, or -1 if the unseen value resolver cannot provide an alternative value
+     */
+    int resolveChild(int index, String value)
+    {
+        try
+        {
+            Node child = ((DecisionNode) nodes[index]).nextNode(value, null);
+            return child == null ? -1 : child.getId();
+        }
+        catch (TreeNavigationException treeNavigationException)
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * @param index Position of the leaf node in depth first order
+     * @return The code of the class assigned by the leaf node
+     */
+    int getLeafClass(int index)
+    {
+        return leafClass[index];
+    }
+
+    /**
+     * Collects the nodes of the tree in depth first order, along with the attributes, values and classes they hold.
+     *
+     * @param currentNode Current node in the tree
+     * @param nodes       Receives the nodes
+     * @param attributes  Receives each tested attribute once, in the order first found
+     * @param values      Receives the values of each tested attribute
+     * @param thresholds  Receives the thresholds of each numeric attribute, keeping the first text found for each number
+     * @param classes     Receives the classes of the leaf nodes
+     */
+    private static void collectNodes(Node currentNode, ArrayList<Node> nodes, ArrayList<String> attributes, HashMap<String, TreeSet<String>> values,
+                                     HashMap<String, TreeMap<Double, String>> thresholds, TreeSet<String> classes)
+    {
+        nodes.add(currentNode);
+
+        if (currentNode instanceof DecisionNode)
+        {
+            String attribute = ((DecisionNode) currentNode).getTargetAttribute();
+
+            if (!values.containsKey(attribute))
+            {
+                attributes.add(attribute);
+                values.put(attribute, new TreeSet<>());
+            }
+
+            if (currentNode instanceof ThresholdNode)
+            {
+                thresholds.computeIfAbsent(attribute, key -> new TreeMap<>())
+                        .putIfAbsent(((ThresholdNode) currentNode).getThreshold(), ((ThresholdNode) currentNode).getThresholdText());
+            }
+
+            for (Entry<String, Node> child : ((DecisionNode) currentNode).getChildren())
+            {
+                values.get(attribute).add(child.getKey());
+                collectNodes(child.getValue(), nodes, attributes, values, thresholds, classes);
+            }
+        }
+        else
+        {
+            classes.add(((LeafNode) currentNode).getClassification());
+        }
+    }
+
+    /**
+     * @param node Position of the decision node in depth first order
+     * @param code The code of the value of the node's attribute, or -1 for a value not seen in training
+     * @return The position of the child seen with the value at the node, or -1 if the value was not seen at the node
+     */
+    private int seenChild(int node, int code)
+    {
+        if (code < 0)
+        {
+            return -1;
+        }
+
+        int from = childOffset[node];
+
+        if (thresholds[nodeAttribute[node]] != null)
+        {
+            return childTable[code <= childCodes[from] ? from : from + 1];
+        }
+
+        int position = Arrays.binarySearch(childCodes, from, childOffset[node + 1], code);
+        return position < 0 ? -1 : childTable[position];
+    }
+
+    /**
+     * @param node  Position of the decision node in depth first order
+     * @param value The attribute value not seen at the node, or null if it is not known
+     * @return The position of the child prepared by the unseen value resolver, the child it chooses for the value, or
+     * -1 if the resolver cannot provide an alternative value or needs a value that is not known
+     */
+    private int substituteChild(int node, String value)
+    {
+        return unknownValueChild[node] >= 0 || value == null ? unknownValueChild[node] : resolveChild(node, value);
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list of the compiled tree
+     * @param code           The code of the value
+     * @param data           The data point that was encoded, or null if it is not available
+     * @return The value of the data point, the value of a code seen in training, or null if the value is not known
+     */
+    private String valueOf(int attributeIndex, int code, IData data)
+    {
+        if (data != null)
+        {
+            return data.getAttributeValue(attributes.get(attributeIndex));
+        }
+
+        return code >= 0 && thresholds[attributeIndex] == null ? dictionaries[attributeIndex][code] : null;
+    }
+}
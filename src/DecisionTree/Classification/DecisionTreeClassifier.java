@@ -1,7 +1,10 @@
 package DecisionTree.Classification;
 
+import java.util.List;
 import java.util.Map.Entry;
+import java.util.stream.IntStream;
 
+import DecisionTree.Data.ColumnarDataSet;
 import DecisionTree.Data.IData;
 import DecisionTree.Structure.DecisionNode;
 import DecisionTree.Structure.LeafNode;
@@ -10,12 +13,19 @@ import DecisionTree.Structure.Tree;
 
 /**
  * Wraps a decision tree for classification and display.
+ * A classifier is safe to share between threads. The tree and its compiled form are immutable, so classification takes
+ * no locks, and the compiled form and string representations are built on first use, at most a few times, and cached
+ * without locking.
  **/
 public class DecisionTreeClassifier
 {
+    static final int BATCH_CHUNK_SIZE = 4096;
+
     private final Tree decisionTree;
-    private String treeAsMultilineCachedString = null;
-    private String treeAsSingleLineCachedString = null;
+    private final long version;
+    private volatile CompiledTree cachedCompiledTree = null;
+    private volatile String treeAsMultilineCachedString = null;
+    private volatile String treeAsSingleLineCachedString = null;
 
     /**
      * Initialises a new classifier with the given tree.
@@ -23,8 +33,20 @@ public class DecisionTreeClassifier
      * @param tree The target tree
      **/
     public DecisionTreeClassifier(Tree decisionTree)
+    {
+        this(decisionTree, 0);
+    }
+
+    /**
+     * Initialises a new classifier with the given tree, reporting the given model version in its classification results.
+     *
+     * @param tree    The target tree
+     * @param version The version of the model, see {@link ClassificationResult#getModelVersion()}
+     **/
+    public DecisionTreeClassifier(Tree decisionTree, long version)
     {
         this.decisionTree = decisionTree;
+        this.version = version;
     }
 
     /**
@@ -35,8 +57,148 @@ public class DecisionTreeClassifier
      **/
     public ClassificationResult classify(IData data)
     {
-        ClassificationRunner classifier = new ClassificationRunner(data, decisionTree.getRoot());
-        return classifier.run();
+        return classify(data, LoggingMode.EAGER);
+    }
+
+    /**
+     * Classifies a new data point, collecting the log explaining the classification as given by the logging mode.
+     *
+     * @param data        The data to classify
+     * @param loggingMode How the classification log is collected
+     * @return The classification result
+     **/
+    public ClassificationResult classify(IData data, LoggingMode loggingMode)
+    {
+        ClassificationRunner classifier = new ClassificationRunner(data, decisionTree, loggingMode);
+        ClassificationResult result = classifier.run();
+        result.setModelVersion(version);
+        return result;
+    }
+
+    /**
+     * Classifies every row of a columnar data set into a preallocated array of class codes.
+     *
+     * @param dataSet    The data to classify
+     * @param classCodes Receives the code of the assigned class of each row, or -1 where the classification failed, see {@link #getClassName(int)}
+     * @param parallel   True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(ColumnarDataSet dataSet, int[] classCodes, boolean parallel)
+    {
+        CompiledTree compiledTree = getCompiledTree();
+        int[][] codeMaps = compiledTree.codeMaps(dataSet);
+        forEachChunk(dataSet.size(), parallel, (from, to) -> compiledTree.classify(dataSet, codeMaps, from, to, classCodes, null));
+    }
+
+    /**
+     * Classifies every row of a columnar data set into a preallocated array of class codes, recording the path each row
+     * took through the tree for later explanation by {@link #explain(ClassificationPath, IData)}.
+     *
+     * @param dataSet    The data to classify
+     * @param classCodes Receives the code of the assigned class of each row, or -1 where the classification failed, see {@link #getClassName(int)}
+     * @param paths      Receives the path of each row, reusing any path already in the array
+     * @param parallel   True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(ColumnarDataSet dataSet, int[] classCodes, ClassificationPath[] paths, boolean parallel)
+    {
+        CompiledTree compiledTree = getCompiledTree();
+        int[][] codeMaps = compiledTree.codeMaps(dataSet);
+        forEachChunk(dataSet.size(), parallel, (from, to) -> compiledTree.classify(dataSet, codeMaps, from, to, classCodes, paths));
+    }
+
+    /**
+     * Classifies every row of a columnar data set into a preallocated array of class names.
+     *
+     * @param dataSet  The data to classify
+     * @param classes  Receives the assigned class of each row, or null where the classification failed
+     * @param parallel True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(ColumnarDataSet dataSet, String[] classes, boolean parallel)
+    {
+        CompiledTree compiledTree = getCompiledTree();
+        int[][] codeMaps = compiledTree.codeMaps(dataSet);
+        int[] classCodes = new int[dataSet.size()];
+        forEachChunk(dataSet.size(), parallel, (from, to) -> {
+            compiledTree.classify(dataSet, codeMaps, from, to, classCodes, null);
+
+            for (int row = from; row < to; row++)
+            {
+                classes[row] = getClassName(classCodes[row]);
+            }
+        });
+    }
+
+    /**
+     * Classifies a list of data points into a preallocated array of class names.
+     *
+     * @param dataSet  The data to classify
+     * @param classes  Receives the assigned class of each data point, or null where the classification failed
+     * @param parallel True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(List<? extends IData> dataSet, String[] classes, boolean parallel)
+    {
+        CompiledTree compiledTree = getCompiledTree();
+        forEachChunk(dataSet.size(), parallel, (from, to) -> {
+            int[] encodedData = new int[compiledTree.getAttributes().size()];
+
+            for (int index = from; index < to; index++)
+            {
+                compiledTree.encode(dataSet.get(index), encodedData);
+                classes[index] = getClassName(compiledTree.classify(encodedData, dataSet.get(index)));
+            }
+        });
+    }
+
+    /**
+     * Renders the explanation of a classification from its recorded path.
+     *
+     * @param path The path recorded when classifying the data point
+     * @param data The classified data point
+     * @return The classification log, as given by {@link ClassificationResult#toLongString()}
+     **/
+    public String explain(ClassificationPath path, IData data)
+    {
+        return String.join(", ", path.explain(decisionTree, data));
+    }
+
+    /**
+     * @param classCode The code of a class assigned by {@link #classifyBatch(ColumnarDataSet, int[], boolean)}
+     * @return The class name, or null if the code marks a failed classification
+     **/
+    public String getClassName(int classCode)
+    {
+        return classCode < 0 ? null : getCompiledTree().getClassName(classCode);
+    }
+
+    /**
+     * @return The version of the model reported in classification results, 0 unless given
+     **/
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * @return The decision tree this classifier wraps
+     **/
+    Tree getTree()
+    {
+        return decisionTree;
+    }
+
+    /**
+     * @return The decision tree compiled for fast classification of pre-encoded data, compiled on first use
+     **/
+    public CompiledTree getCompiledTree()
+    {
+        // Threads racing to compile the tree each build an equivalent compiled tree, and the cache keeps whichever is written last
+        CompiledTree compiled = cachedCompiledTree;
+        if (compiled == null)
+        {
+            compiled = new CompiledTree(decisionTree);
+            cachedCompiledTree = compiled;
+        }
+
+        return compiled;
     }
 
     /**
@@ -45,14 +207,17 @@ public class DecisionTreeClassifier
     @Override
     public String toString()
     {
-        if (treeAsMultilineCachedString == null)
+        // Threads racing to render the tree each build the same string, and the cache publishes whichever is written last
+        String treeAsMultilineString = treeAsMultilineCachedString;
+        if (treeAsMultilineString == null)
         {
             StringBuilder stringBuilder = new StringBuilder();
             walkTreeToMultilineString(decisionTree.getRoot(), stringBuilder, 0);
-            treeAsMultilineCachedString = stringBuilder.toString();
+            treeAsMultilineString = stringBuilder.toString();
+            treeAsMultilineCachedString = treeAsMultilineString;
         }
 
-        return treeAsMultilineCachedString;
+        return treeAsMultilineString;
     }
 
     /**
@@ -60,14 +225,16 @@ public class DecisionTreeClassifier
      **/
     public String toSingleLineString()
     {
-        if (treeAsSingleLineCachedString == null)
+        String treeAsSingleLineString = treeAsSingleLineCachedString;
+        if (treeAsSingleLineString == null)
         {
             StringBuilder stringBuilder = new StringBuilder();
             walkTreeToSingleLineString(decisionTree.getRoot(), stringBuilder);
-            treeAsSingleLineCachedString = stringBuilder.toString();
+            treeAsSingleLineString = stringBuilder.toString();
+            treeAsSingleLineCachedString = treeAsSingleLineString;
         }
 
-        return treeAsSingleLineCachedString;
+        return treeAsSingleLineString;
     }
 
     /**
@@ -119,6 +286,28 @@ public class DecisionTreeClassifier
         }
     }
 
+    /**
+     * Splits a batch into chunks and runs the given action on each chunk.
+     *
+     * @param size     Size of the batch
+     * @param parallel True to run the chunks concurrently
+     * @param action   Receives the start and end position of each chunk
+     */
+    static void forEachChunk(int size, boolean parallel, ChunkAction action)
+    {
+        IntStream chunks = IntStream.range(0, (size + BATCH_CHUNK_SIZE - 1) / BATCH_CHUNK_SIZE);
+
+        (parallel ? chunks.parallel() : chunks).forEach(chunk -> action.run(chunk * BATCH_CHUNK_SIZE, Math.min(size, (chunk + 1) * BATCH_CHUNK_SIZE)));
+    }
+
+    /**
+     * Processes a chunk of a batch.
+     */
+    interface ChunkAction
+    {
+        void run(int from, int to);
+    }
+
     /**
      * Indents a string by the given number of spaces.
      *
@@ -0,0 +1,124 @@
+package DecisionTree.Classification;
+
+import DecisionTree.Structure.TrainingOptions;
+
+/**
+ * Options controlling how a random forest is trained.
+ * The defaults train 100 trees across all cores, each choosing between the square root of the number of attributes at each node.
+ */
+public class ForestOptions
+{
+    private int treeCount = 100;
+    private int attributeSampleSize = 0;
+    private long seed = 0;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private TrainingOptions treeOptions = new TrainingOptions();
+
+    /**
+     * @return The number of trees in the forest
+     */
+    public int getTreeCount()
+    {
+        return treeCount;
+    }
+
+    /**
+     * @param treeCount The number of trees in the forest, at least 1
+     */
+    public void setTreeCount(int treeCount)
+    {
+        if (treeCount < 1)
+        {
+            throw new IllegalArgumentException("Tree count must be at least 1");
+        }
+
+        this.treeCount = treeCount;
+    }
+
+    /**
+     * @return The number of attributes randomly chosen as candidates at each node, or 0 for the square root of the number of attributes
+     */
+    public int getAttributeSampleSize()
+    {
+        return attributeSampleSize;
+    }
+
+    /**
+     * Sets the number of available attributes each node randomly chooses between, which decorrelates the trees.
+     *
+     * @param attributeSampleSize Number of attributes, or 0 for the square root of the number of attributes
+     */
+    public void setAttributeSampleSize(int attributeSampleSize)
+    {
+        if (attributeSampleSize < 0)
+        {
+            throw new IllegalArgumentException("Attribute sample size must not be negative");
+        }
+
+        this.attributeSampleSize = attributeSampleSize;
+    }
+
+    /**
+     * @return The seed of the bootstrap samples and attribute choices
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Sets the seed of the bootstrap samples and attribute choices. A forest trained with the same seed on the same data
+     * is identical whatever the parallelism.
+     *
+     * @param seed The seed
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * @return The number of threads used to train the trees
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * @param parallelism The number of threads used to train the trees, at least 1
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+        {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return The training options each tree is trained with, apart from its attribute sample size and seed
+     */
+    public TrainingOptions getTreeOptions()
+    {
+        return treeOptions;
+    }
+
+    /**
+     * Sets the training options each tree is trained with, such as the numeric attributes, histogram bins and stopping
+     * criteria. Each tree trains with a copy whose attribute sample size and seed are set by the forest.
+     *
+     * @param treeOptions The template training options
+     */
+    public void setTreeOptions(TrainingOptions treeOptions)
+    {
+        if (treeOptions == null)
+        {
+            throw new IllegalArgumentException("Tree options must not be null");
+        }
+
+        this.treeOptions = treeOptions;
+    }
+}
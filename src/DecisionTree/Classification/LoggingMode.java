@@ -0,0 +1,12 @@
+package DecisionTree.Classification;
+
+/**
+ * Controls how the log explaining a classification is collected.
+ * EAGER builds every log message as the classification runs, DEFERRED records the path taken and only builds the
+ * messages when the log is read, and DISABLED collects no log at all. A DEFERRED log calls the unseen value resolver
+ * again when it is read, so its messages are those of an EAGER log for resolvers that resolve each value the same way.
+ */
+public enum LoggingMode
+{
+    EAGER, DEFERRED, DISABLED
+}
@@ -0,0 +1,550 @@
+package DecisionTree.Classification;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.ThresholdNode;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * A decision tree saved by {@link ModelWriter}, classified straight from the saved bytes.
+ * Only the dictionaries are read into memory, the node records and child table are read in place from the buffer,
+ * which is typically a memory mapped file.
+ */
+public class MappedModel
+{
+    private final ByteBuffer buffer;
+    private final List<String> attributes;
+    private final String[][] dictionaries;
+    private final double[][] thresholds;
+    private final List<HashMap<String, Integer>> codesByValue;
+    private final String[] classes;
+    private final String[] reasons;
+    private final int nodeCount;
+    private final int nodeTableOffset;
+    private final int childTableOffset;
+
+    /**
+     * Reads the dictionaries of a saved model and locates its node records and child table, checking that every count,
+     * offset and position in the model lies within the buffer.
+     *
+     * @param buffer The bytes of the saved model
+     * @throws IOException if the buffer does not hold a complete saved model of a supported version
+     */
+    MappedModel(ByteBuffer buffer) throws IOException
+    {
+        this.buffer = buffer;
+        int position = 0;
+
+        if (buffer.limit() < 8 || buffer.getInt(0) != ModelWriter.MAGIC)
+        {
+            throw new IOException("Not a decision tree model");
+        }
+
+        if (buffer.getInt(4) != ModelWriter.VERSION)
+        {
+            throw new IOException("Unsupported decision tree model version: " + buffer.getInt(4));
+        }
+
+        position += 8;
+
+        ArrayList<String> attributes = new ArrayList<>();
+        int attributeCount = readCount(position, 1);
+        position += 4;
+        this.dictionaries = new String[attributeCount][];
+        this.thresholds = new double[attributeCount][];
+        this.codesByValue = new ArrayList<>();
+
+        for (int attributeIndex = 0; attributeIndex < attributeCount; attributeIndex++)
+        {
+            attributes.add(readCheckedString(position));
+            position += 4 + buffer.getInt(position);
+
+            checkRange(position, 1);
+            boolean numeric = buffer.get(position) != 0;
+            position += 1;
+
+            dictionaries[attributeIndex] = new String[readCount(position, 4)];
+            codesByValue.add(new HashMap<>());
+            position += 4;
+
+            for (int code = 0; code < dictionaries[attributeIndex].length; code++)
+            {
+                dictionaries[attributeIndex][code] = readCheckedString(position);
+                codesByValue.get(attributeIndex).put(dictionaries[attributeIndex][code], code);
+                position += 4 + buffer.getInt(position);
+            }
+
+            if (numeric)
+            {
+                thresholds[attributeIndex] = new double[dictionaries[attributeIndex].length];
+
+                for (int code = 0; code < thresholds[attributeIndex].length; code++)
+                {
+                    thresholds[attributeIndex][code] = ThresholdNode.parse(dictionaries[attributeIndex][code]);
+                }
+            }
+        }
+
+        this.attributes = List.copyOf(attributes);
+
+        this.classes = new String[readCount(position, 4)];
+        position += 4;
+        for (int code = 0; code < classes.length; code++)
+        {
+            classes[code] = readCheckedString(position);
+            position += 4 + buffer.getInt(position);
+        }
+
+        this.reasons = new String[readCount(position, 4)];
+        position += 4;
+        for (int code = 0; code < reasons.length; code++)
+        {
+            reasons[code] = readCheckedString(position);
+            position += 4 + buffer.getInt(position);
+        }
+
+        this.nodeCount = readCount(position, ModelWriter.NODE_RECORD_SIZE);
+        this.nodeTableOffset = position + 4;
+        this.childTableOffset = nodeTableOffset + nodeCount * ModelWriter.NODE_RECORD_SIZE + 4;
+
+        if (nodeCount == 0)
+        {
+            throw new IOException("Corrupt decision tree model: no nodes");
+        }
+
+        checkNodes(readCount(childTableOffset - 4, 8));
+        checkClassCounts(childTableOffset + 8 * buffer.getInt(childTableOffset - 4));
+    }
+
+    /**
+     * Classifies a data point encoded by {@link #encode(IData, int[])}, reading the tree from the saved bytes.
+     *
+     * @param encodedData The coded value of each attribute of the model
+     * @return The code of the assigned class, or -1 if the classification failed
+     */
+    public int classify(int[] encodedData)
+    {
+        int node = 0;
+
+        while (true)
+        {
+            int record = nodeTableOffset + node * ModelWriter.NODE_RECORD_SIZE;
+            int attributeIndex = buffer.getInt(record);
+
+            if (attributeIndex < 0)
+            {
+                return buffer.getInt(record + 4);
+            }
+
+            int code = encodedData[attributeIndex];
+            node = code >= 0 ? seenChild(record, attributeIndex, code) : -1;
+
+            if (node == -1)
+            {
+                node = buffer.getInt(record + 8);
+            }
+
+            if (node == -1)
+            {
+                return -1;
+            }
+            else if (node < -1)
+            {
+                node = -node - 2;
+            }
+        }
+    }
+
+    /**
+     * Encodes a data point for classification by this model.
+     *
+     * @param data        The data point
+     * @param encodedData Receives the coded value of each attribute of the model, -1 for values not seen in training
+     *                    or values of a numeric attribute that are not numbers
+     */
+    public void encode(IData data, int[] encodedData)
+    {
+        for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+        {
+            String value = data.getAttributeValue(attributes.get(attributeIndex));
+
+            if (thresholds[attributeIndex] != null)
+            {
+                encodedData[attributeIndex] = CompiledTree.encodeNumber(thresholds[attributeIndex], ThresholdNode.parse(value));
+            }
+            else
+            {
+                Integer code = codesByValue.get(attributeIndex).get(value);
+                encodedData[attributeIndex] = code == null ? -1 : code;
+            }
+        }
+    }
+
+    /**
+     * Encodes a data point for classification by this model.
+     *
+     * @param data The data point
+     * @return The coded value of each attribute of the model, -1 for values not seen in training
+     */
+    public int[] encode(IData data)
+    {
+        int[] encodedData = new int[attributes.size()];
+        encode(data, encodedData);
+        return encodedData;
+    }
+
+    /**
+     * @return The attributes tested by the model, in the order expected by {@link #classify(int[])}
+     */
+    public List<String> getAttributes()
+    {
+        return attributes;
+    }
+
+    /**
+     * @param code The code of a class
+     * @return The class name
+     */
+    public String getClassName(int code)
+    {
+        return classes[code];
+    }
+
+    /**
+     * @return The number of nodes in the model
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Rebuilds the nodes of the saved tree.
+     *
+     * @param unseenValueResolver Resolver for classifying values not seen in training examples
+     * @return The tree
+     */
+    Tree toTree(IResolveUnseenValue unseenValueResolver)
+    {
+        Node[] nodes = new Node[nodeCount];
+        List<TreeMap<String, Integer>> classCounts = readClassCounts();
+
+        for (int index = nodeCount - 1; index >= 0; index--)
+        {
+            int record = nodeTableOffset + index * ModelWriter.NODE_RECORD_SIZE;
+            int attributeIndex = buffer.getInt(record);
+            int occurrences = buffer.getInt(record + 12);
+
+            if (attributeIndex < 0)
+            {
+                nodes[index] = new LeafNode(classes[buffer.getInt(record + 4)], reasons[buffer.getInt(record + 8)], occurrences);
+            }
+            else if (thresholds[attributeIndex] != null)
+            {
+                nodes[index] = toThresholdNode(record, attributeIndex, unseenValueResolver, nodes);
+            }
+            else
+            {
+                DecisionNode node = new DecisionNode(attributes.get(attributeIndex), unseenValueResolver, buffer.getDouble(record + 16), occurrences);
+                int childOffset = childTableOffset + 8 * buffer.getInt(record + 4);
+
+                for (int entry = 0; entry < buffer.getInt(record + 24); entry++)
+                {
+                    int child = buffer.getInt(childOffset + 8 * entry + 4);
+
+                    if (child >= 0)
+                    {
+                        node.addChild(dictionaries[attributeIndex][buffer.getInt(childOffset + 8 * entry)], nodes[child]);
+                    }
+                }
+
+                nodes[index] = node;
+            }
+
+            nodes[index].setClassCounts(classCounts.get(index));
+        }
+
+        return new Tree(nodes[0]);
+    }
+
+    /**
+     * Reads the training class counts of each node, which follow the child table.
+     *
+     * @return The class counts of each node in depth first order
+     */
+    private List<TreeMap<String, Integer>> readClassCounts()
+    {
+        int position = childTableOffset + 8 * buffer.getInt(childTableOffset - 4);
+        String[] countedClasses = new String[buffer.getInt(position)];
+        position += 4;
+
+        for (int code = 0; code < countedClasses.length; code++)
+        {
+            countedClasses[code] = readString(position);
+            position += 4 + buffer.getInt(position);
+        }
+
+        ArrayList<TreeMap<String, Integer>> classCounts = new ArrayList<>(nodeCount);
+        for (int index = 0; index < nodeCount; index++)
+        {
+            int countedClassCount = buffer.getInt(position);
+            TreeMap<String, Integer> nodeClassCounts = new TreeMap<>();
+            classCounts.add(nodeClassCounts);
+            position += 4;
+
+            for (int count = 0; count < countedClassCount; count++)
+            {
+                nodeClassCounts.put(countedClasses[buffer.getInt(position)], buffer.getInt(position + 4));
+                position += 8;
+            }
+        }
+
+        return classCounts;
+    }
+
+    /**
+     * Rebuilds a threshold node, whose threshold is the upper end of the last interval on the lower side.
+     *
+     * @param record              Position of the node record
+     * @param attributeIndex      The numeric attribute the node splits on
+     * @param unseenValueResolver Resolver for classifying values that are not numbers
+     * @param nodes               The rebuilt nodes following this node in depth first order
+     * @return The node
+     */
+    private ThresholdNode toThresholdNode(int record, int attributeIndex, IResolveUnseenValue unseenValueResolver, Node[] nodes)
+    {
+        int childOffset = childTableOffset + 8 * buffer.getInt(record + 4);
+        ThresholdNode node = new ThresholdNode(attributes.get(attributeIndex), unseenValueResolver, buffer.getDouble(record + 16), buffer.getInt(record + 12),
+                dictionaries[attributeIndex][buffer.getInt(childOffset)]);
+        int lowerChild = buffer.getInt(childOffset + 4);
+        int upperChild = buffer.getInt(childOffset + 12);
+
+        if (lowerChild >= 0)
+        {
+            node.addChild(node.lowerKey(), nodes[lowerChild]);
+        }
+
+        if (upperChild >= 0)
+        {
+            node.addChild(node.upperKey(), nodes[upperChild]);
+        }
+
+        return node;
+    }
+
+    /**
+     * Checks that each node record refers only to dictionary entries, child table entries and nodes that exist, and
+     * that each child follows its parent in depth first order.
+     *
+     * @param childTableSize The number of child table entries
+     * @throws IOException if a node record is corrupt
+     */
+    private void checkNodes(int childTableSize) throws IOException
+    {
+        for (int index = 0; index < nodeCount; index++)
+        {
+            int record = nodeTableOffset + index * ModelWriter.NODE_RECORD_SIZE;
+            int attributeIndex = buffer.getInt(record);
+
+            if (attributeIndex < 0)
+            {
+                check(attributeIndex == -1 && isCode(buffer.getInt(record + 4), classes.length) && isCode(buffer.getInt(record + 8), reasons.length),
+                        "leaf node " + index);
+                continue;
+            }
+
+            int childOffset = buffer.getInt(record + 4);
+            int childCount = buffer.getInt(record + 24);
+            int unknownValueChild = buffer.getInt(record + 8);
+            boolean numeric = attributeIndex < attributes.size() && thresholds[attributeIndex] != null;
+
+            check(attributeIndex < attributes.size() && childOffset >= 0 && childCount >= 0 && childOffset <= childTableSize - childCount
+                    && (!numeric || childCount == 2) && (unknownValueChild == -1 || isChild(unknownValueChild, index)), "decision node " + index);
+
+            for (int entry = 0; entry < childCount; entry++)
+            {
+                int position = childTableOffset + 8 * (childOffset + entry);
+                int code = buffer.getInt(position);
+                int child = buffer.getInt(position + 4);
+                // Categorical codes ascend for binary search, and a threshold node's lower entry names its threshold
+                boolean validCode = numeric ? isCode(code, dictionaries[attributeIndex].length + entry)
+                        : isCode(code, dictionaries[attributeIndex].length) && (entry == 0 || code > buffer.getInt(position - 8));
+
+                check(validCode && (child == -1 || isChild(child < -1 ? -child - 2 : child, index)), "child table entry of node " + index);
+            }
+        }
+    }
+
+    /**
+     * Checks that the training class counts following the child table lie within the buffer and name counted classes.
+     *
+     * @param position Position of the counted class dictionary
+     * @throws IOException if the class counts are truncated or corrupt
+     */
+    private void checkClassCounts(int position) throws IOException
+    {
+        int countedClassCount = readCount(position, 4);
+        position += 4;
+
+        for (int code = 0; code < countedClassCount; code++)
+        {
+            readCheckedString(position);
+            position += 4 + buffer.getInt(position);
+        }
+
+        for (int index = 0; index < nodeCount; index++)
+        {
+            int classCountCount = readCount(position, 8);
+            position += 4;
+
+            for (int count = 0; count < classCountCount; count++)
+            {
+                check(isCode(buffer.getInt(position), countedClassCount), "class counts of node " + index);
+                position += 8;
+            }
+        }
+    }
+
+    /**
+     * Reads a count, checking that it and the entries of the given minimum size it counts lie within the buffer.
+     *
+     * @param position  Position of the count
+     * @param entrySize The minimum size in bytes of each counted entry
+     * @return The count
+     * @throws IOException if the count is negative or its entries would run past the end of the buffer
+     */
+    private int readCount(int position, int entrySize) throws IOException
+    {
+        checkRange(position, 4);
+        int count = buffer.getInt(position);
+
+        check(count >= 0, "negative count at " + position);
+        checkRange(position + 4L, (long) count * entrySize);
+        return count;
+    }
+
+    /**
+     * Reads a string, checking that it lies within the buffer.
+     *
+     * @param position Position of the string
+     * @return The string
+     * @throws IOException if the string is truncated or has a negative length
+     */
+    private String readCheckedString(int position) throws IOException
+    {
+        checkRange(position, 4);
+        check(buffer.getInt(position) >= 0, "negative string length at " + position);
+        checkRange(position + 4L, buffer.getInt(position));
+        return readString(position);
+    }
+
+    /**
+     * @param position Position of the first byte
+     * @param length   The number of bytes
+     * @throws IOException if the bytes run past the end of the buffer
+     */
+    private void checkRange(long position, long length) throws IOException
+    {
+        if (position + length > buffer.limit())
+        {
+            throw new IOException("Truncated decision tree model: " + buffer.limit() + " bytes, expected at least " + (position + length));
+        }
+    }
+
+    /**
+     * @param valid  The result of a check
+     * @param detail The part of the model checked
+     * @throws IOException if the check failed
+     */
+    private static void check(boolean valid, String detail) throws IOException
+    {
+        if (!valid)
+        {
+            throw new IOException("Corrupt decision tree model: " + detail);
+        }
+    }
+
+    /**
+     * @param code  A code read from the model
+     * @param count The number of entries of the dictionary the code refers to
+     * @return True if the code refers to an entry of the dictionary
+     */
+    private static boolean isCode(int code, int count)
+    {
+        return code >= 0 && code < count;
+    }
+
+    /**
+     * @param child  A node position read from a record
+     * @param parent Position of the node holding the record
+     * @return True if the position refers to a node following the parent in depth first order
+     */
+    private boolean isChild(int child, int parent)
+    {
+        return child > parent && child < nodeCount;
+    }
+
+    /**
+     * Finds the child table entry of a decision node for a value code, by binary search of the entries sorted by code.
+     *
+     * @param record         Position of the node record
+     * @param attributeIndex The attribute the node splits on
+     * @param code           The code of the value
+     * @return The child table entry, or -1 if the node holds no entry for the value
+     */
+    private int seenChild(int record, int attributeIndex, int code)
+    {
+        int offset = childTableOffset + 8 * buffer.getInt(record + 4);
+
+        if (thresholds[attributeIndex] != null)
+        {
+            return buffer.getInt(code <= buffer.getInt(offset) ? offset + 4 : offset + 12);
+        }
+
+        int low = 0;
+        int high = buffer.getInt(record + 24) - 1;
+
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int middleCode = buffer.getInt(offset + 8 * middle);
+
+            if (middleCode < code)
+            {
+                low = middle + 1;
+            }
+            else if (middleCode > code)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return buffer.getInt(offset + 8 * middle + 4);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param position Position of a string written by the model writer
+     * @return The string
+     */
+    private String readString(int position)
+    {
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,179 @@
+package DecisionTree.Classification;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Holds the live classifier of a service, which can be replaced by a newly trained or loaded model while it is in use.
+ * Each model is given the next version number, compiled and warmed up before it is installed by a single atomic swap,
+ * so classifying threads never wait. A classification that has already read the live classifier finishes on that
+ * version, and each result reports the version that produced it.
+ */
+public class ModelHolder
+{
+    private final AtomicReference<DecisionTreeClassifier> live;
+    private final AtomicLong lastVersion = new AtomicLong();
+    private final List<? extends IData> warmUpData;
+
+    /**
+     * Creates a new model holder with the given tree installed as version 1, without warm up data.
+     *
+     * @param tree The initial tree
+     */
+    public ModelHolder(Tree tree)
+    {
+        this(tree, List.of());
+    }
+
+    /**
+     * Creates a new model holder with the given tree installed as version 1.
+     *
+     * @param tree       The initial tree
+     * @param warmUpData Data points classified by each new model before it is installed, such as a sample of recent requests
+     */
+    public ModelHolder(Tree tree, List<? extends IData> warmUpData)
+    {
+        this.warmUpData = List.copyOf(warmUpData);
+        this.live = new AtomicReference<>(warmUp(new DecisionTreeClassifier(tree, lastVersion.incrementAndGet())));
+    }
+
+    /**
+     * @return The live classifier, which continues to classify with its own model after it is replaced
+     */
+    public DecisionTreeClassifier get()
+    {
+        return live.get();
+    }
+
+    /**
+     * @return The version of the live model
+     */
+    public long getVersion()
+    {
+        return live.get().getVersion();
+    }
+
+    /**
+     * Classifies a new data point with the live model.
+     *
+     * @param data The data to classify
+     * @return The classification result, reporting the version of the model that produced it
+     */
+    public ClassificationResult classify(IData data)
+    {
+        return live.get().classify(data);
+    }
+
+    /**
+     * Classifies a new data point with the live model, collecting the log as given by the logging mode.
+     *
+     * @param data        The data to classify
+     * @param loggingMode How the classification log is collected
+     * @return The classification result, reporting the version of the model that produced it
+     */
+    public ClassificationResult classify(IData data, LoggingMode loggingMode)
+    {
+        return live.get().classify(data, loggingMode);
+    }
+
+    /**
+     * Compiles and warms up the given tree on the calling thread, then installs it as the live model unless a model
+     * requested later was installed first.
+     *
+     * @param tree The new tree
+     * @return The classifier of the new model, or empty if a later version was already live and the new model was dropped
+     */
+    public Optional<DecisionTreeClassifier> swap(Tree tree)
+    {
+        return install(tree, lastVersion.incrementAndGet());
+    }
+
+    /**
+     * Loads, compiles and warms up a new tree on the given executor, then installs it as the live model. The version is
+     * given when the load is requested, so a load that finishes after a model requested later has been installed is
+     * not installed. The live model is also left in place if loading or warming up the new tree fails.
+     *
+     * @param loader   Provides the new tree, such as by training or reading a saved model
+     * @param executor Runs the load in the background
+     * @return Completes with the classifier of the new model, empty if a later version was already live and the new
+     * model was dropped, or exceptionally with the cause of the failure
+     */
+    public CompletableFuture<Optional<DecisionTreeClassifier>> loadAsync(Callable<Tree> loader, Executor executor)
+    {
+        long version = lastVersion.incrementAndGet();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try
+            {
+                return install(loader.call(), version);
+            }
+            catch (Exception exception)
+            {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    /**
+     * Loads a model saved by {@link ModelWriter} on the given executor, then installs it as the live model.
+     *
+     * @param file                The saved model
+     * @param unseenValueResolver Resolver for classifying values not seen in training examples
+     * @param executor            Runs the load in the background
+     * @return Completes with the classifier of the new model, empty if a later version was already live and the new
+     * model was dropped, or exceptionally with the cause of the failure
+     */
+    public CompletableFuture<Optional<DecisionTreeClassifier>> loadAsync(Path file, IResolveUnseenValue unseenValueResolver, Executor executor)
+    {
+        return loadAsync(() -> new ModelReader().read(file, unseenValueResolver), executor);
+    }
+
+    /**
+     * Compiles and warms up a tree, then installs it as the live model unless a later version is already live.
+     *
+     * @param tree    The new tree
+     * @param version The version of the new model
+     * @return The classifier of the new model, or empty if it was not installed
+     */
+    private Optional<DecisionTreeClassifier> install(Tree tree, long version)
+    {
+        DecisionTreeClassifier classifier = warmUp(new DecisionTreeClassifier(tree, version));
+        DecisionTreeClassifier installed = live.accumulateAndGet(classifier, (current, next) -> next.getVersion() > current.getVersion() ? next : current);
+
+        return installed == classifier ? Optional.of(classifier) : Optional.empty();
+    }
+
+    /**
+     * Classifies the warm up data with a new classifier through each of its paths, so that the code is compiled and
+     * any fault in the model surfaces before it receives traffic.
+     *
+     * @param classifier The new classifier
+     * @return The classifier
+     */
+    private DecisionTreeClassifier warmUp(DecisionTreeClassifier classifier)
+    {
+        CompiledTree compiledTree = classifier.getCompiledTree();
+        int[] encodedData = new int[compiledTree.getAttributes().size()];
+
+        for (IData data : warmUpData)
+        {
+            classifier.classify(data, LoggingMode.DISABLED);
+            classifier.classify(data, LoggingMode.DEFERRED).toLongString();
+            compiledTree.encode(data, encodedData);
+            compiledTree.classify(encodedData, data);
+        }
+
+        return classifier;
+    }
+}
@@ -0,0 +1,70 @@
+package DecisionTree.Classification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Loads decision trees saved by {@link ModelWriter}.
+ */
+public class ModelReader
+{
+    /**
+     * Maps a saved model into memory for classification straight from the file.
+     *
+     * @param file The saved model
+     * @return The mapped model
+     * @throws IOException if the file cannot be read or is not a saved model
+     */
+    public MappedModel map(Path file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            return new MappedModel(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Reads a saved model from a stream into memory.
+     *
+     * @param stream The stream holding the saved model, which is read to the end but not closed
+     * @return The model
+     * @throws IOException if the stream cannot be read or does not hold a saved model
+     */
+    public MappedModel load(InputStream stream) throws IOException
+    {
+        return new MappedModel(ByteBuffer.wrap(stream.readAllBytes()));
+    }
+
+    /**
+     * Loads a saved model as a tree, for use with a {@link DecisionTreeClassifier}.
+     *
+     * @param file                The saved model
+     * @param unseenValueResolver Resolver for classifying values not seen in training examples
+     * @return The tree
+     * @throws IOException if the file cannot be read or is not a saved model
+     */
+    public Tree read(Path file, IResolveUnseenValue unseenValueResolver) throws IOException
+    {
+        return map(file).toTree(unseenValueResolver);
+    }
+
+    /**
+     * Loads a saved model from a stream as a tree, for use with a {@link DecisionTreeClassifier}.
+     *
+     * @param stream              The stream holding the saved model, which is read to the end but not closed
+     * @param unseenValueResolver Resolver for classifying values not seen in training examples
+     * @return The tree
+     * @throws IOException if the stream cannot be read or does not hold a saved model
+     */
+    public Tree read(InputStream stream, IResolveUnseenValue unseenValueResolver) throws IOException
+    {
+        return load(stream).toTree(unseenValueResolver);
+    }
+}
@@ -0,0 +1,265 @@
+package DecisionTree.Classification;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
+
+/**
+ * Saves a trained decision tree in a compact binary model format that can be classified from directly once mapped
+ * into memory, see {@link ModelReader}.
+ *
+ * The format holds a header, the attribute, value, class and leaf reason dictionaries, then a fixed size record for
+ * each node in depth first order and the child table. Each node record holds the attribute index (-1 for a leaf), the
+ * child table offset or leaf class code, the unknown value child or leaf reason code, the occurrence count, the gain and
+ * the number of child table entries. The unknown value child is the child prepared by the unseen value resolver, or -1
+ * where the resolver chooses for each value.
+ * Child table entries are pairs of a value code and the child position, sorted by code. A node holds an entry for each
+ * value seen at the node, and where its resolver chooses for each value, an entry holding -(position + 2) for each other
+ * value of the attribute the resolver substitutes a child for. Values not known at all fail at such a node.
+ * Each attribute is flagged as categorical, with a dictionary of its values, or numeric, with a dictionary of its
+ * thresholds in ascending order. A threshold node holds an entry for each side of its threshold, keyed by the last
+ * interval between the thresholds on that side and holding -1 where no training data fell on that side.
+ * The child table is followed by the training class counts of each node, which are only read to rebuild the tree, as a
+ * dictionary of the counted classes and then the number of counted classes of each node followed by class code and
+ * count pairs.
+ */
+public class ModelWriter
+{
+    static final int MAGIC = 0x44544D42;
+    static final int VERSION = 4;
+    static final int NODE_RECORD_SIZE = 28;
+
+    /**
+     * Saves the tree to a file.
+     *
+     * @param tree The trained tree
+     * @param file The file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Tree tree, Path file) throws IOException
+    {
+        try (OutputStream stream = Files.newOutputStream(file))
+        {
+            write(tree, stream);
+        }
+    }
+
+    /**
+     * Saves the tree to a stream. Where the unseen value resolver of a decision node does not prepare its choice, the
+     * resolver is called for every value of the node's attribute that has no child of its own, so writing costs one
+     * resolver call per decision node and dictionary value, and the child table stores an entry for each of them.
+     * Resolvers that prepare their choice, such as {@link DecisionTree.UnseenValueResolvers.MostCommonValueResolver},
+     * store a single fallback child per node instead.
+     *
+     * @param tree   The trained tree
+     * @param stream The stream to write to, which is flushed but not closed
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(Tree tree, OutputStream stream) throws IOException
+    {
+        CompiledTree compiledTree = new CompiledTree(tree);
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+        // The code of each leaf reason and counted class, in order of first appearance
+        LinkedHashMap<String, Integer> reasons = new LinkedHashMap<>();
+
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+
+        output.writeInt(compiledTree.getAttributes().size());
+        for (int attributeIndex = 0; attributeIndex < compiledTree.getAttributes().size(); attributeIndex++)
+        {
+            int dictionarySize = compiledTree.isNumeric(attributeIndex) ? compiledTree.getThresholdCount(attributeIndex) : compiledTree.getCardinality(attributeIndex);
+
+            writeString(output, compiledTree.getAttributes().get(attributeIndex));
+            output.writeBoolean(compiledTree.isNumeric(attributeIndex));
+            output.writeInt(dictionarySize);
+
+            for (int code = 0; code < dictionarySize; code++)
+            {
+                writeString(output, compiledTree.getValue(attributeIndex, code));
+            }
+        }
+
+        output.writeInt(compiledTree.getClassCount());
+        for (int code = 0; code < compiledTree.getClassCount(); code++)
+        {
+            writeString(output, compiledTree.getClassName(code));
+        }
+
+        for (int index = 0; index < compiledTree.getNodeCount(); index++)
+        {
+            if (compiledTree.getNode(index) instanceof LeafNode)
+            {
+                reasons.putIfAbsent(((LeafNode) compiledTree.getNode(index)).getReason(), reasons.size());
+            }
+        }
+
+        output.writeInt(reasons.size());
+        for (String reason : reasons.keySet())
+        {
+            writeString(output, reason);
+        }
+
+        int[][] childTables = new int[compiledTree.getNodeCount()][];
+        int childTableSize = 0;
+        for (int index = 0; index < compiledTree.getNodeCount(); index++)
+        {
+            if (compiledTree.getNodeAttribute(index) >= 0)
+            {
+                childTables[index] = childTable(compiledTree, index);
+                childTableSize += childTables[index].length / 2;
+            }
+        }
+
+        int childOffset = 0;
+        output.writeInt(compiledTree.getNodeCount());
+        for (int index = 0; index < compiledTree.getNodeCount(); index++)
+        {
+            Node node = compiledTree.getNode(index);
+            int attributeIndex = compiledTree.getNodeAttribute(index);
+
+            output.writeInt(attributeIndex);
+
+            if (attributeIndex >= 0)
+            {
+                output.writeInt(childOffset);
+                output.writeInt(compiledTree.getUnknownValueChild(index));
+                output.writeInt(node.getOccurrencesInDataSet());
+                output.writeDouble(((DecisionNode) node).getGain());
+                output.writeInt(childTables[index].length / 2);
+                childOffset += childTables[index].length / 2;
+            }
+            else
+            {
+                output.writeInt(compiledTree.getLeafClass(index));
+                output.writeInt(reasons.get(((LeafNode) node).getReason()));
+                output.writeInt(node.getOccurrencesInDataSet());
+                output.writeDouble(0);
+                output.writeInt(0);
+            }
+        }
+
+        output.writeInt(childTableSize);
+        for (int[] childTable : childTables)
+        {
+            if (childTable != null)
+            {
+                for (int entry : childTable)
+                {
+                    output.writeInt(entry);
+                }
+            }
+        }
+
+        LinkedHashMap<String, Integer> countedClasses = new LinkedHashMap<>();
+        for (int index = 0; index < compiledTree.getNodeCount(); index++)
+        {
+            for (String countedClass : compiledTree.getNode(index).getClassCounts().keySet())
+            {
+                countedClasses.putIfAbsent(countedClass, countedClasses.size());
+            }
+        }
+
+        output.writeInt(countedClasses.size());
+        for (String countedClass : countedClasses.keySet())
+        {
+            writeString(output, countedClass);
+        }
+
+        for (int index = 0; index < compiledTree.getNodeCount(); index++)
+        {
+            Map<String, Integer> classCounts = compiledTree.getNode(index).getClassCounts();
+            output.writeInt(classCounts.size());
+
+            for (Entry<String, Integer> classCount : classCounts.entrySet())
+            {
+                output.writeInt(countedClasses.get(classCount.getKey()));
+                output.writeInt(classCount.getValue());
+            }
+        }
+
+        output.flush();
+    }
+
+    /**
+     * Builds the child table entries of a decision node. Where the unseen value resolver chooses for each value, the
+     * child it substitutes for each other value of the attribute is resolved ahead of time, as a mapped model cannot call it.
+     * This takes one resolver call for each dictionary value the node has no child for.
+     *
+     * @param compiledTree The compiled tree
+     * @param index        Position of the decision node in depth first order
+     * @return The code and child position of each entry in turn, sorted by code
+     */
+    private static int[] childTable(CompiledTree compiledTree, int index)
+    {
+        int attributeIndex = compiledTree.getNodeAttribute(index);
+        int offset = compiledTree.getChildOffset(index);
+        int count = compiledTree.getChildCount(index);
+
+        if (compiledTree.isNumeric(attributeIndex) || compiledTree.getUnknownValueChild(index) >= 0)
+        {
+            int[] childTable = new int[2 * count];
+
+            for (int entry = 0; entry < count; entry++)
+            {
+                childTable[2 * entry] = compiledTree.getChildCode(offset + entry);
+                childTable[2 * entry + 1] = compiledTree.getChildTableEntry(offset + entry);
+            }
+
+            return childTable;
+        }
+
+        int[] childTable = new int[2 * compiledTree.getCardinality(attributeIndex)];
+        int size = 0;
+
+        for (int code = 0, entry = 0; code < compiledTree.getCardinality(attributeIndex); code++)
+        {
+            int child;
+
+            if (entry < count && compiledTree.getChildCode(offset + entry) == code)
+            {
+                child = compiledTree.getChildTableEntry(offset + entry++);
+            }
+            else
+            {
+                child = compiledTree.resolveChild(index, compiledTree.getValue(attributeIndex, code));
+                child = child < 0 ? -1 : -child - 2;
+            }
+
+            if (child != -1)
+            {
+                childTable[size++] = code;
+                childTable[size++] = child;
+            }
+        }
+
+        return Arrays.copyOf(childTable, size);
+    }
+
+    /**
+     * Writes a string as its length in bytes followed by its UTF-8 bytes.
+     *
+     * @param output The output
+     * @param value  The string
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException
+    {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,292 @@
+package DecisionTree.Classification;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import DecisionTree.AllAttributesUsedResolvers.IResolveAllAttributesUsed;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * An ensemble of decision trees, each trained on a bootstrap sample of the training data choosing between a random
+ * subset of the attributes at each node, which classifies by majority vote.
+ * Every tree trains on the same columnar data set, with its bootstrap sample held as an array of row indices.
+ */
+public class RandomForestClassifier
+{
+    private final List<Tree> trees;
+    private final CompiledTree[] compiledTrees;
+    private final int[][] classMaps;
+    private final String[] classes;
+
+    /**
+     * Trains a new random forest, training the trees in parallel as given by the options.
+     *
+     * @param trainingData              The training data
+     * @param allAttributesUsedResolver Resolver for inconsistent classes in training examples, must be thread safe if training in parallel
+     * @param unseenValuesResolver      Resolver for classifying values not seen in training examples
+     * @param options                   Forest options
+     */
+    public RandomForestClassifier(ColumnarDataSet trainingData, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                                  ForestOptions options)
+    {
+        Tree[] trees = new Tree[options.getTreeCount()];
+        int attributeSampleSize = options.getAttributeSampleSize() > 0 ? options.getAttributeSampleSize()
+                : Math.max(1, (int) Math.round(Math.sqrt(trainingData.getAttributes().size())));
+        // Bins the data once for the whole forest, each tree then training on the binned data as it is
+        TrainingOptions treeOptions = options.getTreeOptions();
+        ColumnarDataSet treeData = treeOptions.getHistogramBins() > 0 ? trainingData.binned(treeOptions.getNumericAttributes(), treeOptions.getHistogramBins()) : trainingData;
+
+        ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int index = 0; index < trees.length; index++)
+        {
+            int treeIndex = index;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                trees[treeIndex] = trainTree(treeData, allAttributesUsedResolver, unseenValuesResolver, treeOptions, attributeSampleSize, options.getSeed(),
+                        treeIndex, options.getParallelism() > 1);
+            }));
+        }
+
+        if (options.getParallelism() == 1)
+        {
+            tasks.forEach(ForkJoinTask::invoke);
+        }
+        else
+        {
+            ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+            try
+            {
+                pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+            }
+            finally
+            {
+                pool.shutdown();
+            }
+        }
+
+        this.trees = List.of(trees);
+        this.compiledTrees = new CompiledTree[trees.length];
+        this.classMaps = new int[trees.length][];
+        this.classes = new String[trainingData.getClassCount()];
+
+        for (int code = 0; code < classes.length; code++)
+        {
+            classes[code] = trainingData.getClassName(code);
+        }
+
+        for (int index = 0; index < trees.length; index++)
+        {
+            compiledTrees[index] = new CompiledTree(trees[index]);
+            classMaps[index] = new int[compiledTrees[index].getClassCount()];
+
+            for (int code = 0; code < classMaps[index].length; code++)
+            {
+                classMaps[index][code] = Arrays.binarySearch(classes, compiledTrees[index].getClassName(code));
+            }
+        }
+    }
+
+    /**
+     * Classifies a new data point by the majority vote of the trees, with ties going to the earliest class alphabetically.
+     *
+     * @param data The data to classify
+     * @return The classification result, which fails only if every tree fails to classify the data
+     */
+    public ClassificationResult classify(IData data)
+    {
+        return classify(data, LoggingMode.EAGER);
+    }
+
+    /**
+     * Classifies a new data point by the majority vote of the trees, collecting the log as given by the logging mode. The
+     * vote has no path to defer, so a DEFERRED log is built as an EAGER one.
+     *
+     * @param data        The data to classify
+     * @param loggingMode How the classification log is collected
+     * @return The classification result, which fails only if every tree fails to classify the data
+     */
+    public ClassificationResult classify(IData data, LoggingMode loggingMode)
+    {
+        int[] votes = new int[classes.length];
+
+        for (int index = 0; index < compiledTrees.length; index++)
+        {
+            int classCode = compiledTrees[index].classify(compiledTrees[index].encode(data), data);
+
+            if (classCode >= 0)
+            {
+                votes[classMaps[index][classCode]]++;
+            }
+        }
+
+        ClassificationResult classificationResult = new ClassificationResult();
+        int winner = winner(votes, 0);
+
+        if (winner < 0)
+        {
+            classificationResult.setStatus(Status.FAILED);
+
+            if (loggingMode != LoggingMode.DISABLED)
+            {
+                classificationResult.log("Classification Failed");
+            }
+        }
+        else
+        {
+            classificationResult.setStatus(Status.SUCCEEDED);
+            classificationResult.setAssignedClass(classes[winner]);
+
+            if (loggingMode != LoggingMode.DISABLED)
+            {
+                classificationResult.log(votes[winner] + " of " + compiledTrees.length + " trees voted for " + classes[winner]);
+            }
+        }
+
+        return classificationResult;
+    }
+
+    /**
+     * Classifies every row of a columnar data set by majority vote into a preallocated array of class codes. Each tree
+     * classifies a chunk of rows in turn, adding to the votes of the chunk.
+     *
+     * @param dataSet    The data to classify
+     * @param classCodes Receives the code of the assigned class of each row, or -1 where every tree failed, see {@link #getClassName(int)}
+     * @param parallel   True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(ColumnarDataSet dataSet, int[] classCodes, boolean parallel)
+    {
+        int[][][] codeMaps = new int[compiledTrees.length][][];
+        for (int index = 0; index < compiledTrees.length; index++)
+        {
+            codeMaps[index] = compiledTrees[index].codeMaps(dataSet);
+        }
+
+        // Chunks cover disjoint rows, so they can share one array for the class codes assigned by each tree
+        int[] treeClassCodes = new int[dataSet.size()];
+
+        DecisionTreeClassifier.forEachChunk(dataSet.size(), parallel, (from, to) -> {
+            int[] votes = new int[(to - from) * classes.length];
+
+            for (int index = 0; index < compiledTrees.length; index++)
+            {
+                compiledTrees[index].classify(dataSet, codeMaps[index], from, to, treeClassCodes, null);
+
+                for (int row = from; row < to; row++)
+                {
+                    if (treeClassCodes[row] >= 0)
+                    {
+                        votes[(row - from) * classes.length + classMaps[index][treeClassCodes[row]]]++;
+                    }
+                }
+            }
+
+            for (int row = from; row < to; row++)
+            {
+                classCodes[row] = winner(votes, (row - from) * classes.length);
+            }
+        });
+    }
+
+    /**
+     * Classifies every row of a columnar data set by majority vote into a preallocated array of class names.
+     *
+     * @param dataSet  The data to classify
+     * @param classes  Receives the assigned class of each row, or null where every tree failed
+     * @param parallel True to split the batch into chunks classified concurrently across all cores
+     **/
+    public void classifyBatch(ColumnarDataSet dataSet, String[] classes, boolean parallel)
+    {
+        int[] classCodes = new int[dataSet.size()];
+        classifyBatch(dataSet, classCodes, parallel);
+
+        for (int row = 0; row < classCodes.length; row++)
+        {
+            classes[row] = getClassName(classCodes[row]);
+        }
+    }
+
+    /**
+     * @param classCode The code of a class assigned by {@link #classifyBatch(ColumnarDataSet, int[], boolean)}
+     * @return The class name, or null if the code marks a failed classification
+     **/
+    public String getClassName(int classCode)
+    {
+        return classCode < 0 ? null : classes[classCode];
+    }
+
+    /**
+     * @return The trees of the forest
+     **/
+    public List<Tree> getTrees()
+    {
+        return trees;
+    }
+
+    /**
+     * Trains a single tree of the forest on its bootstrap sample. The sample and the attribute choices are seeded from
+     * the forest seed and the position of the tree, so they do not depend on the order the trees are trained in.
+     *
+     * @param trainingData              The training data
+     * @param allAttributesUsedResolver Resolver for inconsistent classes in training examples
+     * @param unseenValuesResolver      Resolver for classifying values not seen in training examples
+     * @param treeOptions               The template training options of every tree
+     * @param attributeSampleSize       The number of attributes each node chooses between
+     * @param seed                      The forest seed
+     * @param treeIndex                 Position of the tree in the forest
+     * @param parallelForest            True if the trees are trained in parallel, so each tree is trained on a single thread
+     * @return The tree
+     */
+    private static Tree trainTree(ColumnarDataSet trainingData, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                                  TrainingOptions treeOptions, int attributeSampleSize, long seed, int treeIndex, boolean parallelForest)
+    {
+        SplittableRandom random = new SplittableRandom(seed + treeIndex * 0x9E3779B97F4A7C15L);
+        int[] rows = new int[trainingData.size()];
+
+        for (int index = 0; index < rows.length; index++)
+        {
+            rows[index] = random.nextInt(rows.length);
+        }
+
+        // Sorted rows keep the reads of each column sequential while counting
+        Arrays.sort(rows);
+
+        TrainingOptions options = new TrainingOptions(treeOptions);
+        options.setAttributeSampleSize(attributeSampleSize);
+        options.setSeed(random.nextLong());
+
+        if (parallelForest)
+        {
+            // A pool of its own per tree would oversubscribe the cores the forest's pool already occupies
+            options.setParallelism(1);
+        }
+
+        return new Tree(trainingData, rows, allAttributesUsedResolver, unseenValuesResolver, null, options);
+    }
+
+    /**
+     * @param votes  Array holding the votes for each class
+     * @param offset Position of the votes for the first class
+     * @return The class with the most votes, the earliest alphabetically in the event of a tie, or -1 if there are no votes
+     */
+    private int winner(int[] votes, int offset)
+    {
+        int winner = -1;
+
+        for (int classCode = 0; classCode < classes.length; classCode++)
+        {
+            if (votes[offset + classCode] > 0 && (winner < 0 || votes[offset + classCode] > votes[offset + winner]))
+            {
+                winner = classCode;
+            }
+        }
+
+        return winner;
+    }
+}
@@ -0,0 +1,253 @@
+package DecisionTree.Classification;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.ThresholdNode;
+import DecisionTree.Structure.Tree;
+
+/**
+ * Prunes a fully trained decision tree, replacing subtrees by leaves assigning the most common class of their training
+ * data where this is not expected to reduce accuracy. The decision is made bottom up from the training class counts and
+ * occurrences held by each node, and the pruned tree is a copy so the given tree is left unchanged.
+ * Nodes whose training class counts are not known are never replaced.
+ */
+public class TreePruner
+{
+    private static final String PRUNED_REASON = "Subtree pruned, assigning the most common class: ";
+
+    /**
+     * Prunes the tree by reduced error pruning, replacing each subtree that misclassifies at least as much of a holdout
+     * set as a single leaf would. The holdout set is classified once in batch through the compiled tree, recording the
+     * path of each row, from which the errors of every node as a leaf and as a subtree are accumulated. Subtrees that
+     * no holdout row reaches are replaced.
+     *
+     * @param tree     The trained tree
+     * @param holdout  Labelled data not used in training
+     * @param parallel True to classify the holdout set concurrently across all cores
+     * @return The pruned tree
+     */
+    public Tree pruneReducedError(Tree tree, ColumnarDataSet holdout, boolean parallel)
+    {
+        int[] classCodes = new int[holdout.size()];
+        ClassificationPath[] paths = new ClassificationPath[holdout.size()];
+        new DecisionTreeClassifier(tree).classifyBatch(holdout, classCodes, paths, parallel);
+
+        // The class each node assigns as a leaf, coded by the holdout class dictionary
+        int[] nodeClassCodes = new int[tree.getNodeCount()];
+        for (int id = 0; id < nodeClassCodes.length; id++)
+        {
+            nodeClassCodes[id] = classCode(holdout, leafClass(tree.getNode(id)));
+        }
+
+        long[] leafErrors = new long[tree.getNodeCount()];
+        long[] failures = new long[tree.getNodeCount()];
+
+        for (int row = 0; row < holdout.size(); row++)
+        {
+            int actualClassCode = holdout.getClassColumn().get(row);
+            int weight = holdout.getWeight(row);
+
+            for (int step = 0; step < paths[row].length(); step++)
+            {
+                int id = paths[row].getNodeId(step);
+                leafErrors[id] += nodeClassCodes[id] == actualClassCode ? 0 : weight;
+            }
+
+            if (paths[row].isFailed())
+            {
+                failures[paths[row].getNodeId(paths[row].length() - 1)] += weight;
+            }
+        }
+
+        long[] subtreeErrors = new long[tree.getNodeCount()];
+        boolean[] pruned = new boolean[tree.getNodeCount()];
+
+        // Children follow their parent in depth first order, so they are decided first
+        for (int id = tree.getNodeCount() - 1; id >= 0; id--)
+        {
+            Node node = tree.getNode(id);
+
+            if (node instanceof DecisionNode)
+            {
+                long keptErrors = failures[id];
+                for (Entry<String, Node> child : ((DecisionNode) node).getChildren())
+                {
+                    keptErrors += subtreeErrors[child.getValue().getId()];
+                }
+
+                pruned[id] = node.getMostCommonClass() != null && leafErrors[id] <= keptErrors;
+                subtreeErrors[id] = pruned[id] ? leafErrors[id] : keptErrors;
+            }
+            else
+            {
+                subtreeErrors[id] = leafErrors[id];
+            }
+        }
+
+        return new Tree(copy(tree.getRoot(), pruned));
+    }
+
+    /**
+     * Prunes the tree by the pessimistic error estimate of C4.5 with the default confidence of 0.25.
+     *
+     * @param tree The trained tree
+     * @return The pruned tree
+     */
+    public Tree prunePessimistic(Tree tree)
+    {
+        return prunePessimistic(tree, 0.25);
+    }
+
+    /**
+     * Prunes the tree by the pessimistic error estimate of C4.5, without a holdout set. The errors of a leaf are
+     * estimated by the upper confidence limit of the binomial error rate of its training data, and a subtree is replaced
+     * if the estimate for a single leaf is no more than 0.1 above the sum of the estimates of its leaves.
+     *
+     * @param tree       The trained tree
+     * @param confidence The confidence level, lower values prune more heavily, between 0 exclusive and 0.5
+     * @return The pruned tree
+     */
+    public Tree prunePessimistic(Tree tree, double confidence)
+    {
+        if (confidence <= 0 || confidence > 0.5)
+        {
+            throw new IllegalArgumentException("Confidence must be greater than 0 and at most 0.5");
+        }
+
+        double z = normalQuantile(confidence);
+        double[] subtreeErrors = new double[tree.getNodeCount()];
+        boolean[] pruned = new boolean[tree.getNodeCount()];
+
+        for (int id = tree.getNodeCount() - 1; id >= 0; id--)
+        {
+            Node node = tree.getNode(id);
+            double leafErrors = estimatedErrors(node, leafClass(node), z);
+
+            if (node instanceof DecisionNode)
+            {
+                double keptErrors = 0;
+                for (Entry<String, Node> child : ((DecisionNode) node).getChildren())
+                {
+                    keptErrors += subtreeErrors[child.getValue().getId()];
+                }
+
+                pruned[id] = node.getMostCommonClass() != null && leafErrors <= keptErrors + 0.1;
+                subtreeErrors[id] = pruned[id] ? leafErrors : keptErrors;
+            }
+            else
+            {
+                subtreeErrors[id] = leafErrors;
+            }
+        }
+
+        return new Tree(copy(tree.getRoot(), pruned));
+    }
+
+    /**
+     * @param node A node
+     * @return The class the node assigns as a leaf, which for a decision node is its most common class
+     */
+    private static String leafClass(Node node)
+    {
+        return node instanceof LeafNode ? ((LeafNode) node).getClassification() : node.getMostCommonClass();
+    }
+
+    /**
+     * @param dataSet   The data set
+     * @param className The class name, may be null
+     * @return The code of the class in the data set, or -1 if the class does not occur in it
+     */
+    private static int classCode(ColumnarDataSet dataSet, String className)
+    {
+        for (int code = 0; code < dataSet.getClassCount(); code++)
+        {
+            if (dataSet.getClassName(code).equals(className))
+            {
+                return code;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Estimates the errors of a node as a leaf from the upper confidence limit of the error rate of its training data.
+     *
+     * @param node      The node
+     * @param leafClass The class the node assigns as a leaf
+     * @param z         The standard normal deviate of the confidence level
+     * @return The estimated errors, weighted as the occurrences of the node
+     */
+    private static double estimatedErrors(Node node, String leafClass, double z)
+    {
+        Map<String, Integer> classCounts = node.getClassCounts();
+        double total = node.getOccurrencesInDataSet();
+
+        if (total == 0)
+        {
+            return 0;
+        }
+
+        double errorRate = classCounts.isEmpty() ? 0 : (total - classCounts.getOrDefault(leafClass, 0)) / total;
+        double upperLimit = (errorRate + z * z / (2 * total) + z * Math.sqrt(errorRate * (1 - errorRate) / total + z * z / (4 * total * total))) / (1 + z * z / total);
+
+        return total * upperLimit;
+    }
+
+    /**
+     * Approximates the standard normal deviate exceeded with the given probability, by Abramowitz and Stegun 26.2.23.
+     *
+     * @param probability Upper tail probability between 0 exclusive and 0.5
+     * @return The deviate
+     */
+    private static double normalQuantile(double probability)
+    {
+        double t = Math.sqrt(-2 * Math.log(probability));
+
+        return t - (2.515517 + 0.802853 * t + 0.010328 * t * t) / (1 + 1.432788 * t + 0.189269 * t * t + 0.001308 * t * t * t);
+    }
+
+    /**
+     * Copies a subtree, replacing the pruned decision nodes by leaves of their most common class.
+     *
+     * @param node   Root of the subtree
+     * @param pruned Flags the decision nodes to replace, by node id
+     * @return The copy
+     */
+    private static Node copy(Node node, boolean[] pruned)
+    {
+        Node copy;
+
+        if (pruned[node.getId()])
+        {
+            copy = new LeafNode(node.getMostCommonClass(), PRUNED_REASON, node.getOccurrencesInDataSet());
+        }
+        else if (node instanceof LeafNode)
+        {
+            copy = new LeafNode(((LeafNode) node).getClassification(), ((LeafNode) node).getReason(), node.getOccurrencesInDataSet());
+        }
+        else
+        {
+            DecisionNode decisionNode = (DecisionNode) node;
+            DecisionNode decisionCopy = node instanceof ThresholdNode
+                    ? new ThresholdNode(decisionNode.getTargetAttribute(), decisionNode.getUnseenValueResolver(), decisionNode.getGain(), node.getOccurrencesInDataSet(),
+                            ((ThresholdNode) node).getThresholdText())
+                    : new DecisionNode(decisionNode.getTargetAttribute(), decisionNode.getUnseenValueResolver(), decisionNode.getGain(), node.getOccurrencesInDataSet());
+
+            for (Entry<String, Node> child : decisionNode.getChildren())
+            {
+                decisionCopy.addChild(child.getKey(), copy(child.getValue(), pruned));
+            }
+
+            copy = decisionCopy;
+        }
+
+        copy.setClassCounts(node.getClassCounts());
+        return copy;
+    }
+}
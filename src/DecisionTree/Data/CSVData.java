@@ -1,48 +1,39 @@
 package DecisionTree.Data;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Represents a comma separated data point.
+ * The values are held in attribute order and are the canonical instances held by the dictionaries of the data context,
+ * which also shares its attribute names and positions between all of its data points.
  */
 public class CSVData implements IData
 {
     private final String assignedClass;
-    private final HashMap<String, String> values = new HashMap<>();
+    private final int weight;
+    private final List<String> attributes;
+    private final Map<String, Integer> attributeIndices;
+    private final String[] values;
 
     /**
-     * Creates a new data point from comma separated values.
+     * Creates a new data point from values already split and made canonical by its data context.
      *
-     * @param valuesString  Comma separated string representing the values of each attribute.
-     *                      Must match the order as specified by the given list of attributes
-     * @param attributes    List of attribute names
-     * @param assignedClass The assigned classification of this data point
-     * @throws DataContextException if the values are not compatible with the attributes or no values are given
+     * @param values           The value of each attribute, in attribute order
+     * @param attributes       List of attribute names, shared between the data points of the data context
+     * @param attributeIndices Position of each attribute, shared between the data points of the data context
+     * @param assignedClass    The assigned classification of this data point
+     * @param weight           The number of identical data points this data point stands for
      **/
-    CSVData(String valuesString, ArrayList<String> attributes, String assignedClass) throws DataContextException
+    CSVData(String[] values, List<String> attributes, Map<String, Integer> attributeIndices, String assignedClass, int weight)
     {
-        List<String> valuesSplit = Arrays.asList(valuesString.split(","));
-
-        if (valuesSplit.size() != attributes.size())
-        {
-            throw new DataContextException("Attribute and value count do not match");
-        }
-
-        if (valuesSplit.size() == 0)
-        {
-            throw new DataContextException("No values present");
-        }
-
-        for (int i = 0; i < valuesSplit.size(); i++)
-        {
-            values.put(attributes.get(i), valuesSplit.get(i));
-        }
-
+        this.values = values;
+        this.attributes = attributes;
+        this.attributeIndices = attributeIndices;
         this.assignedClass = assignedClass;
+        this.weight = weight;
     }
 
     /**
@@ -52,7 +43,7 @@ public class CSVData implements IData
     public String toString()
     {
         StringBuilder stringBuilder = new StringBuilder();
-        stringBuilder.append(values.entrySet().stream().map(entry -> entry.getKey() + ":" + entry.getValue()).collect(Collectors.joining(",")));
+        stringBuilder.append(IntStream.range(0, values.length).mapToObj(index -> attributes.get(index) + ":" + values[index]).collect(Collectors.joining(",")));
 
         if (assignedClass != "")
         {
@@ -68,7 +59,8 @@ public class CSVData implements IData
     @Override
     public String getAttributeValue(String attribute)
     {
-        return values.get(attribute);
+        Integer index = attributeIndices.get(attribute);
+        return index == null ? null : values[index];
     }
 
     /**
@@ -79,4 +71,13 @@ public class CSVData implements IData
     {
         return assignedClass;
     }
+
+    /**
+     * @return The number of identical data points this data point stands for
+     **/
+    @Override
+    public int getWeight()
+    {
+        return weight;
+    }
 }
@@ -2,15 +2,25 @@ package DecisionTree.Data;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents a collection of data points in comma separated format with respect to the same set of attributes, such as a training data set.
+ * Each attribute has a dictionary of the values added to the context, as does the assigned class, so that every data
+ * point refers to a single canonical instance of each distinct value rather than a copy of its own.
  */
 public class CSVDataContext
 {
     private final ArrayList<String> attributes = new ArrayList<String>();
     private final ArrayList<CSVData> dataSet = new ArrayList<CSVData>();
+    private final List<String> sharedAttributes = Collections.unmodifiableList(attributes);
+    private final HashMap<String, Integer> attributeIndices = new HashMap<>();
+    private final Map<String, Integer> sharedAttributeIndices = Collections.unmodifiableMap(attributeIndices);
+    private final ArrayList<HashMap<String, String>> valueDictionaries = new ArrayList<>();
+    private final HashMap<String, String> classDictionary = new HashMap<>();
 
     /**
      * Creates a new data context for comma separated data with the proposed attributes.
@@ -42,6 +52,9 @@ public class CSVDataContext
             {
                 throw new DataContextException("Attribute name is empty");
             }
+
+            attributeIndices.put(attribute, attributeIndices.size());
+            valueDictionaries.add(new HashMap<>());
         }
     }
 
@@ -54,11 +67,39 @@ public class CSVDataContext
      */
     public void addData(String csvValues, String assignedClass) throws DataContextException
     {
-        dataSet.add(new CSVData(csvValues, attributes, assignedClass));
+        addData(csvValues, assignedClass, 1);
     }
 
     /**
-     * Parses a comma separated data point with respect to the attributes defined on this data context.
+     * Adds a new set of comma separated values with an assigned classification to this data context, standing for the
+     * given number of identical data points so that deduplicated data does not need to be expanded.
+     *
+     * @param csvValues     The comma separated values representing the data point
+     * @param assignedClass The assigned classification of the data point
+     * @param weight        The number of identical data points, at least 1
+     * @throws DataContextException if invalid values or weight are given
+     */
+    public void addData(String csvValues, String assignedClass, int weight) throws DataContextException
+    {
+        if (weight < 1)
+        {
+            throw new DataContextException("Weight must be at least 1");
+        }
+
+        String[] values = split(csvValues);
+
+        for (int index = 0; index < values.length; index++)
+        {
+            values[index] = valueDictionaries.get(index).computeIfAbsent(values[index], value -> value);
+        }
+
+        dataSet.add(new CSVData(values, sharedAttributes, sharedAttributeIndices, classDictionary.computeIfAbsent(assignedClass, value -> value), weight));
+    }
+
+    /**
+     * Parses a comma separated data point with respect to the attributes defined on this data context. Values already
+     * in the dictionaries of this context are replaced by their canonical instances, but the dictionaries do not grow,
+     * so parsing data to classify does not retain its values.
      *
      * @param values The comma separated values representing this data point
      * @return A new data point parsed with respect to the attributes defined on this data context
@@ -66,7 +107,38 @@ public class CSVDataContext
      */
     public CSVData parse(String values) throws DataContextException
     {
-        return new CSVData(values, attributes, "");
+        String[] parsedValues = split(values);
+
+        for (int index = 0; index < parsedValues.length; index++)
+        {
+            parsedValues[index] = valueDictionaries.get(index).getOrDefault(parsedValues[index], parsedValues[index]);
+        }
+
+        return new CSVData(parsedValues, sharedAttributes, sharedAttributeIndices, "", 1);
+    }
+
+    /**
+     * Splits comma separated values, one for each attribute of this data context.
+     *
+     * @param csvValues The comma separated values
+     * @return The value of each attribute, in attribute order
+     * @throws DataContextException if the values are not compatible with the attributes or no values are given
+     */
+    private String[] split(String csvValues) throws DataContextException
+    {
+        String[] values = csvValues.split(",");
+
+        if (values.length != attributes.size())
+        {
+            throw new DataContextException("Attribute and value count do not match");
+        }
+
+        if (values.length == 0)
+        {
+            throw new DataContextException("No values present");
+        }
+
+        return values;
     }
 
     /**
@@ -78,11 +150,19 @@ public class CSVDataContext
     }
 
     /**
-     * @return The attribute list
+     * @return The data set encoded column by column, suitable for training on large data sets
+     */
+    public ColumnarDataSet getColumnarDataSet()
+    {
+        return new ColumnarDataSet(dataSet, attributes);
+    }
+
+    /**
+     * @return A copy of the attribute list, as the list itself is shared by every data point of this data context
      */
     public ArrayList<String> getAttributes()
     {
-        return attributes;
+        return new ArrayList<>(attributes);
     }
 
 }
@@ -0,0 +1,266 @@
+package DecisionTree.Data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Loads comma separated training data with a header row straight into a columnar data set.
+ * Files are read through memory mapped windows and streams through a fixed size buffer. Fields are dictionary encoded
+ * from their raw bytes, so a String is only created the first time each distinct value of a column is seen. A UTF-8
+ * byte order mark at the start of the data is skipped.
+ */
+public class CSVFileLoader
+{
+    private static final long MAPPED_WINDOW_SIZE = 1L << 28;
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+    private static final byte[] BYTE_ORDER_MARK = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+
+    private final String classAttribute;
+
+    /**
+     * Creates a new loader.
+     *
+     * @param classAttribute Name of the column in the header row holding the assigned classification, all other columns are attributes
+     */
+    public CSVFileLoader(String classAttribute)
+    {
+        this.classAttribute = classAttribute;
+    }
+
+    /**
+     * Loads a comma separated file by mapping it into memory.
+     *
+     * @param file The file to load
+     * @return The data set held in the file
+     * @throws IOException          if the file cannot be read
+     * @throws DataContextException if the header or any row is invalid
+     */
+    public ColumnarDataSet load(Path file) throws IOException, DataContextException
+    {
+        Parser parser = new Parser();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+
+            for (long position = 0; position < size; position += MAPPED_WINDOW_SIZE)
+            {
+                parser.parse(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_WINDOW_SIZE, size - position)));
+            }
+        }
+
+        return parser.finish();
+    }
+
+    /**
+     * Loads comma separated data from a stream.
+     *
+     * @param stream The stream to load, which is read to the end but not closed
+     * @return The data set held in the stream
+     * @throws IOException          if the stream cannot be read
+     * @throws DataContextException if the header or any row is invalid
+     */
+    public ColumnarDataSet load(InputStream stream) throws IOException, DataContextException
+    {
+        Parser parser = new Parser();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+
+        while ((read = stream.read(buffer)) >= 0)
+        {
+            parser.parse(ByteBuffer.wrap(buffer, 0, read));
+        }
+
+        return parser.finish();
+    }
+
+    /**
+     * Splits bytes into rows and fields, carrying a partial row over from one buffer to the next.
+     */
+    private class Parser
+    {
+        private final ArrayList<String> header = new ArrayList<>();
+        private ColumnEncoder[] encoders = null;
+        private int[] encoderOfField = null;
+        private byte[] field = new byte[64];
+        private int fieldLength = 0;
+        private int fieldIndex = 0;
+        private long line = 1;
+        private boolean started = false;
+
+        /**
+         * Parses the bytes remaining in the buffer.
+         *
+         * @param buffer The bytes
+         * @throws DataContextException if the header or any row is invalid
+         */
+        void parse(ByteBuffer buffer) throws DataContextException
+        {
+            for (int index = buffer.position(); index < buffer.limit(); index++)
+            {
+                byte next = buffer.get(index);
+
+                if (next == ',')
+                {
+                    endField();
+                }
+                else if (next == '\n')
+                {
+                    endRow();
+                }
+                else if (next != '\r')
+                {
+                    if (fieldLength == field.length)
+                    {
+                        field = Arrays.copyOf(field, field.length * 2);
+                    }
+
+                    field[fieldLength++] = next;
+
+                    if (!started && fieldLength == BYTE_ORDER_MARK.length)
+                    {
+                        skipByteOrderMark();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Completes the final row if the data does not end with a line break and creates the data set.
+         *
+         * @return The data set
+         * @throws DataContextException if there is no header or the final row is invalid
+         */
+        ColumnarDataSet finish() throws DataContextException
+        {
+            if (fieldLength > 0 || fieldIndex > 0)
+            {
+                endRow();
+            }
+
+            if (encoders == null)
+            {
+                throw new DataContextException("No header row present");
+            }
+
+            ArrayList<String> attributes = new ArrayList<>(header);
+            attributes.remove(classAttribute);
+            return new ColumnarDataSet(attributes, encoders);
+        }
+
+        /**
+         * Discards the first bytes of the data if they are a byte order mark, which may have been split between buffers.
+         */
+        private void skipByteOrderMark()
+        {
+            started = true;
+
+            if (line == 1 && fieldIndex == 0 && Arrays.equals(field, 0, fieldLength, BYTE_ORDER_MARK, 0, BYTE_ORDER_MARK.length))
+            {
+                fieldLength = 0;
+            }
+        }
+
+        /**
+         * Completes the current field.
+         *
+         * @throws DataContextException if the row has more fields than the header
+         */
+        private void endField() throws DataContextException
+        {
+            started = true;
+
+            if (encoders == null)
+            {
+                header.add(new String(field, 0, fieldLength, StandardCharsets.UTF_8));
+            }
+            else if (fieldIndex < encoderOfField.length)
+            {
+                encoders[encoderOfField[fieldIndex]].add(field, fieldLength);
+            }
+            else
+            {
+                throw new DataContextException("Attribute and value count do not match on line " + line);
+            }
+
+            fieldIndex++;
+            fieldLength = 0;
+        }
+
+        /**
+         * Completes the current row, skipping empty lines.
+         *
+         * @throws DataContextException if the row is incompatible with the header
+         */
+        private void endRow() throws DataContextException
+        {
+            if (fieldIndex == 0 && fieldLength == 0)
+            {
+                line++;
+                return;
+            }
+
+            endField();
+
+            if (encoders == null)
+            {
+                createEncoders();
+            }
+            else if (fieldIndex != encoderOfField.length)
+            {
+                throw new DataContextException("Attribute and value count do not match on line " + line);
+            }
+
+            fieldIndex = 0;
+            line++;
+        }
+
+        /**
+         * Creates an encoder for each attribute and the assigned class once the header row is complete.
+         * The class column is encoded by the last encoder, and the attributes by the rest in header order.
+         *
+         * @throws DataContextException if the header is invalid
+         */
+        private void createEncoders() throws DataContextException
+        {
+            int classField = header.indexOf(classAttribute);
+
+            if (classField < 0)
+            {
+                throw new DataContextException("Class column not present in header: " + classAttribute);
+            }
+
+            if (header.size() < 2)
+            {
+                throw new DataContextException("No attributes specified");
+            }
+
+            encoders = new ColumnEncoder[header.size()];
+            encoderOfField = new int[header.size()];
+
+            for (int index = 0, attributeIndex = 0; index < header.size(); index++)
+            {
+                encoders[index] = new ColumnEncoder();
+
+                if (header.get(index).isEmpty())
+                {
+                    throw new DataContextException("Attribute name is empty");
+                }
+
+                if (header.indexOf(header.get(index)) != index)
+                {
+                    throw new DataContextException("Multiple attributes with the same name: " + header.get(index));
+                }
+
+                encoderOfField[index] = index == classField ? header.size() - 1 : attributeIndex++;
+            }
+        }
+    }
+}
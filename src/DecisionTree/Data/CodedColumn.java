@@ -0,0 +1,145 @@
+package DecisionTree.Data;
+
+import java.util.Arrays;
+
+/**
+ * Holds one attribute of a columnar data set as dictionary codes, one per row.
+ * The narrowest primitive array that can hold every code of the column is used for storage.
+ */
+public abstract class CodedColumn
+{
+    /**
+     * Creates a column holding the given codes, stored as bytes or shorts if the cardinality permits.
+     *
+     * @param codes       Code of each row
+     * @param rowCount    Number of rows, the codes array may be longer
+     * @param cardinality Number of distinct codes, all codes must be less than this
+     * @return The column
+     */
+    static CodedColumn of(int[] codes, int rowCount, int cardinality)
+    {
+        if (cardinality <= 1 << Byte.SIZE)
+        {
+            byte[] narrowed = new byte[rowCount];
+            for (int row = 0; row < rowCount; row++)
+            {
+                narrowed[row] = (byte) codes[row];
+            }
+            return new ByteColumn(narrowed);
+        }
+        else if (cardinality <= 1 << Short.SIZE)
+        {
+            short[] narrowed = new short[rowCount];
+            for (int row = 0; row < rowCount; row++)
+            {
+                narrowed[row] = (short) codes[row];
+            }
+            return new ShortColumn(narrowed);
+        }
+        else
+        {
+            return new IntColumn(rowCount == codes.length ? codes : Arrays.copyOf(codes, rowCount));
+        }
+    }
+
+    /**
+     * Creates a column holding the given byte codes.
+     *
+     * @param codes    Code of each row, read as unsigned
+     * @param rowCount Number of rows, the codes array may be longer
+     * @return The column
+     */
+    static CodedColumn of(byte[] codes, int rowCount)
+    {
+        return new ByteColumn(rowCount == codes.length ? codes : Arrays.copyOf(codes, rowCount));
+    }
+
+    /**
+     * Creates a column holding the given short codes.
+     *
+     * @param codes    Code of each row, read as unsigned
+     * @param rowCount Number of rows, the codes array may be longer
+     * @return The column
+     */
+    static CodedColumn of(short[] codes, int rowCount)
+    {
+        return new ShortColumn(rowCount == codes.length ? codes : Arrays.copyOf(codes, rowCount));
+    }
+
+    /**
+     * @param row The target row
+     * @return The code held for the given row
+     */
+    public abstract int get(int row);
+
+    /**
+     * @return The number of rows in this column
+     */
+    public abstract int size();
+
+    private static class ByteColumn extends CodedColumn
+    {
+        private final byte[] codes;
+
+        ByteColumn(byte[] codes)
+        {
+            this.codes = codes;
+        }
+
+        @Override
+        public int get(int row)
+        {
+            return codes[row] & 0xFF;
+        }
+
+        @Override
+        public int size()
+        {
+            return codes.length;
+        }
+    }
+
+    private static class ShortColumn extends CodedColumn
+    {
+        private final short[] codes;
+
+        ShortColumn(short[] codes)
+        {
+            this.codes = codes;
+        }
+
+        @Override
+        public int get(int row)
+        {
+            return codes[row] & 0xFFFF;
+        }
+
+        @Override
+        public int size()
+        {
+            return codes.length;
+        }
+    }
+
+    private static class IntColumn extends CodedColumn
+    {
+        private final int[] codes;
+
+        IntColumn(int[] codes)
+        {
+            this.codes = codes;
+        }
+
+        @Override
+        public int get(int row)
+        {
+            return codes[row];
+        }
+
+        @Override
+        public int size()
+        {
+            return codes.length;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package DecisionTree.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Dictionary encodes the values of a single column as they arrive, then produces the finished column with the
+ * dictionary sorted alphabetically so that code order matches value order.
+ * Values may also arrive as UTF-8 bytes, which are looked up without creating a String unless the value is new.
+ * The codes are held in the narrowest array the number of distinct values so far permits, widened as values are added,
+ * so a column is never buffered wider than it is stored.
+ */
+class ColumnEncoder
+{
+    private final HashMap<String, Integer> codesByValue = new HashMap<>();
+    private final ArrayList<String> values = new ArrayList<>();
+    private byte[] byteCodes = new byte[16];
+    private short[] shortCodes = null;
+    private int[] intCodes = null;
+    private int rowCount = 0;
+
+    // Open addressing hash table from the UTF-8 bytes of each value to its code, holding code + 1 with 0 for empty slots
+    private int[] byteTableCodes = null;
+    private int[] byteTableHashes = null;
+    private byte[][] valueBytes = null;
+    private int byteTableCount = 0;
+
+    /**
+     * Appends a value to the column.
+     *
+     * @param value The value of the next row
+     */
+    void add(String value)
+    {
+        Integer code = codesByValue.get(value);
+
+        if (code == null)
+        {
+            code = values.size();
+            codesByValue.put(value, code);
+            values.add(value);
+        }
+
+        append(code);
+    }
+
+    /**
+     * Appends a value given as UTF-8 bytes to the column.
+     *
+     * @param buffer Array holding the bytes of the value
+     * @param length Number of bytes in the value, starting from the beginning of the array
+     */
+    void add(byte[] buffer, int length)
+    {
+        if (byteTableCodes == null)
+        {
+            byteTableCodes = new int[64];
+            byteTableHashes = new int[64];
+            valueBytes = new byte[16][];
+        }
+
+        int hash = 1;
+        for (int index = 0; index < length; index++)
+        {
+            hash = 31 * hash + buffer[index];
+        }
+
+        int mask = byteTableCodes.length - 1;
+        int slot = hash & mask;
+
+        while (byteTableCodes[slot] != 0)
+        {
+            int code = byteTableCodes[slot] - 1;
+
+            if (byteTableHashes[slot] == hash && Arrays.equals(valueBytes[code], 0, valueBytes[code].length, buffer, 0, length))
+            {
+                append(code);
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        String value = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        Integer code = codesByValue.get(value);
+
+        if (code == null)
+        {
+            code = values.size();
+            codesByValue.put(value, code);
+            values.add(value);
+        }
+
+        if (code >= valueBytes.length)
+        {
+            valueBytes = Arrays.copyOf(valueBytes, Math.max(code + 1, valueBytes.length * 2));
+        }
+
+        valueBytes[code] = Arrays.copyOf(buffer, length);
+        byteTableCodes[slot] = code + 1;
+        byteTableHashes[slot] = hash;
+
+        if (++byteTableCount * 2 > byteTableCodes.length)
+        {
+            growByteTable();
+        }
+
+        append(code);
+    }
+
+    /**
+     * @return The number of values in the column
+     */
+    int size()
+    {
+        return rowCount;
+    }
+
+    /**
+     * Appends a code to the column, widening the codes held once the code no longer fits.
+     *
+     * @param code The code of the value of the next row
+     */
+    private void append(int code)
+    {
+        if (byteCodes != null)
+        {
+            if (code < 1 << Byte.SIZE)
+            {
+                if (rowCount == byteCodes.length)
+                {
+                    byteCodes = Arrays.copyOf(byteCodes, byteCodes.length * 2);
+                }
+
+                byteCodes[rowCount++] = (byte) code;
+                return;
+            }
+
+            shortCodes = new short[byteCodes.length];
+            for (int row = 0; row < rowCount; row++)
+            {
+                shortCodes[row] = (short) (byteCodes[row] & 0xFF);
+            }
+            byteCodes = null;
+        }
+
+        if (shortCodes != null)
+        {
+            if (code < 1 << Short.SIZE)
+            {
+                if (rowCount == shortCodes.length)
+                {
+                    shortCodes = Arrays.copyOf(shortCodes, shortCodes.length * 2);
+                }
+
+                shortCodes[rowCount++] = (short) code;
+                return;
+            }
+
+            intCodes = new int[shortCodes.length];
+            for (int row = 0; row < rowCount; row++)
+            {
+                intCodes[row] = shortCodes[row] & 0xFFFF;
+            }
+            shortCodes = null;
+        }
+
+        if (rowCount == intCodes.length)
+        {
+            intCodes = Arrays.copyOf(intCodes, intCodes.length * 2);
+        }
+
+        intCodes[rowCount++] = code;
+    }
+
+    /**
+     * Doubles the size of the byte lookup table, keeping it at most half full.
+     */
+    private void growByteTable()
+    {
+        int[] oldCodes = byteTableCodes;
+        int[] oldHashes = byteTableHashes;
+        byteTableCodes = new int[oldCodes.length * 2];
+        byteTableHashes = new int[oldCodes.length * 2];
+        int mask = byteTableCodes.length - 1;
+
+        for (int oldSlot = 0; oldSlot < oldCodes.length; oldSlot++)
+        {
+            if (oldCodes[oldSlot] != 0)
+            {
+                int slot = oldHashes[oldSlot] & mask;
+                while (byteTableCodes[slot] != 0)
+                {
+                    slot = (slot + 1) & mask;
+                }
+
+                byteTableCodes[slot] = oldCodes[oldSlot];
+                byteTableHashes[slot] = oldHashes[oldSlot];
+            }
+        }
+    }
+
+    /**
+     * @return The distinct values of the column in alphabetical order, the index of each value is its code
+     */
+    String[] dictionary()
+    {
+        String[] dictionary = values.toArray(new String[0]);
+        Arrays.sort(dictionary);
+        return dictionary;
+    }
+
+    /**
+     * Finishes the column, after which no more values may be added.
+     *
+     * @return The finished column, coded with respect to the sorted dictionary
+     */
+    CodedColumn toColumn()
+    {
+        String[] dictionary = dictionary();
+        int[] sortedCodes = new int[dictionary.length];
+
+        for (int sortedCode = 0; sortedCode < dictionary.length; sortedCode++)
+        {
+            sortedCodes[codesByValue.get(dictionary[sortedCode])] = sortedCode;
+        }
+
+        if (byteCodes != null)
+        {
+            for (int row = 0; row < rowCount; row++)
+            {
+                byteCodes[row] = (byte) sortedCodes[byteCodes[row] & 0xFF];
+            }
+
+            return CodedColumn.of(byteCodes, rowCount);
+        }
+        else if (shortCodes != null)
+        {
+            for (int row = 0; row < rowCount; row++)
+            {
+                shortCodes[row] = (short) sortedCodes[shortCodes[row] & 0xFFFF];
+            }
+
+            return CodedColumn.of(shortCodes, rowCount);
+        }
+
+        for (int row = 0; row < rowCount; row++)
+        {
+            intCodes[row] = sortedCodes[intCodes[row]];
+        }
+
+        return CodedColumn.of(intCodes, rowCount, dictionary.length);
+    }
+}
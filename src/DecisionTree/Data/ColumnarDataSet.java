@@ -0,0 +1,448 @@
+package DecisionTree.Data;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Represents a data set stored column by column, with every attribute and the assigned classes dictionary encoded.
+ * Each dictionary is sorted alphabetically, so the order of the codes matches the order of the values they represent.
+ */
+public class ColumnarDataSet
+{
+    private final List<String> attributes;
+    private final HashMap<String, Integer> attributeIndices = new HashMap<>();
+    private final String[][] dictionaries;
+    private final CodedColumn[] columns;
+    private final String[] classDictionary;
+    private final CodedColumn classColumn;
+    private final int[] weights;
+    private final int size;
+
+    /**
+     * Encodes the given data points into a new columnar data set.
+     *
+     * @param dataSet    The data points
+     * @param attributes List of attribute names
+     */
+    public ColumnarDataSet(List<? extends IData> dataSet, List<String> attributes)
+    {
+        this(attributes, encode(dataSet, attributes), weights(dataSet));
+    }
+
+    /**
+     * Creates a columnar data set from the encoders that have received its values.
+     *
+     * @param attributes List of attribute names
+     * @param encoders   Encoder of each attribute in attribute order, followed by the encoder of the assigned classes
+     */
+    ColumnarDataSet(List<String> attributes, ColumnEncoder[] encoders)
+    {
+        this(attributes, encoders, null);
+    }
+
+    /**
+     * Creates a columnar data set from the encoders that have received its values.
+     *
+     * @param attributes List of attribute names
+     * @param encoders   Encoder of each attribute in attribute order, followed by the encoder of the assigned classes
+     * @param weights    The weight of each row, or null if every row has a weight of 1
+     */
+    ColumnarDataSet(List<String> attributes, ColumnEncoder[] encoders, int[] weights)
+    {
+        this.attributes = List.copyOf(attributes);
+        this.dictionaries = new String[attributes.size()][];
+        this.columns = new CodedColumn[attributes.size()];
+
+        for (int attributeIndex = 0; attributeIndex < columns.length; attributeIndex++)
+        {
+            attributeIndices.put(attributes.get(attributeIndex), attributeIndex);
+            dictionaries[attributeIndex] = encoders[attributeIndex].dictionary();
+            columns[attributeIndex] = encoders[attributeIndex].toColumn();
+        }
+
+        this.classDictionary = encoders[columns.length].dictionary();
+        this.classColumn = encoders[columns.length].toColumn();
+        this.size = classColumn.size();
+        this.weights = weights;
+    }
+
+    /**
+     * Creates a columnar data set from existing columns.
+     *
+     * @param attributes      List of attribute names
+     * @param dictionaries    Dictionary of each attribute in attribute order
+     * @param columns         Coded values of each attribute in attribute order
+     * @param classDictionary Dictionary of the assigned classes
+     * @param classColumn     Coded assigned classes
+     * @param weights         The weight of each row, or null if every row has a weight of 1
+     */
+    private ColumnarDataSet(List<String> attributes, String[][] dictionaries, CodedColumn[] columns, String[] classDictionary, CodedColumn classColumn, int[] weights)
+    {
+        this.attributes = attributes;
+        this.dictionaries = dictionaries;
+        this.columns = columns;
+        this.classDictionary = classDictionary;
+        this.classColumn = classColumn;
+        this.size = classColumn.size();
+        this.weights = weights;
+
+        for (int attributeIndex = 0; attributeIndex < columns.length; attributeIndex++)
+        {
+            attributeIndices.put(attributes.get(attributeIndex), attributeIndex);
+        }
+    }
+
+    /**
+     * @return The number of data points in this data set
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return The attribute list
+     */
+    public List<String> getAttributes()
+    {
+        return attributes;
+    }
+
+    /**
+     * @param attribute The attribute name
+     * @return The position of the attribute in the attribute list, or -1 if there is no such attribute
+     */
+    public int getAttributeIndex(String attribute)
+    {
+        return attributeIndices.getOrDefault(attribute, -1);
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list
+     * @return The coded values of the attribute
+     */
+    public CodedColumn getColumn(int attributeIndex)
+    {
+        return columns[attributeIndex];
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list
+     * @return The number of distinct values of the attribute
+     */
+    public int getCardinality(int attributeIndex)
+    {
+        return dictionaries[attributeIndex].length;
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list
+     * @param code           The coded value
+     * @return The value represented by the code
+     */
+    public String getValue(int attributeIndex, int code)
+    {
+        return dictionaries[attributeIndex][code];
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list
+     * @param value          The value
+     * @return The code of the value, or -1 if the value does not occur in this data set
+     */
+    public int getCode(int attributeIndex, String value)
+    {
+        int code = Arrays.binarySearch(dictionaries[attributeIndex], value);
+        return code >= 0 ? code : -1;
+    }
+
+    /**
+     * Quantile bins the given numeric attributes into at most the given number of bins, each holding roughly the same
+     * weight of rows. Each bin is represented by the highest value it holds, so a threshold between bins is a value of
+     * the training data. Attributes with no more distinct values than bins are left as they are, and the columns of
+     * binned attributes hold one byte per row.
+     *
+     * @param numericAttributes The attributes whose values are numbers
+     * @param binCount          The maximum number of bins, between 2 and 256
+     * @return The binned data set, sharing the columns that are not binned, or this data set if no attribute needs binning
+     * @throws IllegalArgumentException if a value of a binned attribute is not a number
+     */
+    public ColumnarDataSet binned(Set<String> numericAttributes, int binCount)
+    {
+        if (binCount < 2 || binCount > 1 << Byte.SIZE)
+        {
+            throw new IllegalArgumentException("Bin count must be between 2 and 256");
+        }
+
+        String[][] binnedDictionaries = dictionaries.clone();
+        CodedColumn[] binnedColumns = columns.clone();
+        boolean binned = false;
+
+        for (String attribute : numericAttributes)
+        {
+            int attributeIndex = getAttributeIndex(attribute);
+
+            if (attributeIndex >= 0 && getCardinality(attributeIndex) > binCount)
+            {
+                ArrayList<String> upperBounds = new ArrayList<>();
+                int[] binOfCode = quantileBins(attributeIndex, binCount, upperBounds);
+
+                // Dictionaries are sorted alphabetically, so the bins are recoded in the order of their values
+                binnedDictionaries[attributeIndex] = upperBounds.stream().sorted().toArray(String[]::new);
+                for (int code = 0; code < binOfCode.length; code++)
+                {
+                    binOfCode[code] = Arrays.binarySearch(binnedDictionaries[attributeIndex], upperBounds.get(binOfCode[code]));
+                }
+
+                int[] codes = new int[size];
+                for (int row = 0; row < size; row++)
+                {
+                    codes[row] = binOfCode[columns[attributeIndex].get(row)];
+                }
+
+                binnedColumns[attributeIndex] = CodedColumn.of(codes, size, upperBounds.size());
+                binned = true;
+            }
+        }
+
+        return binned ? new ColumnarDataSet(attributes, binnedDictionaries, binnedColumns, classDictionary, classColumn, weights) : this;
+    }
+
+    /**
+     * Assigns each value of a numeric attribute to a quantile bin. A bin is closed once the weight of the rows up to
+     * it reaches its share of the total weight, and values that are equal as numbers are kept in the same bin.
+     *
+     * @param attributeIndex The numeric attribute
+     * @param binCount       The maximum number of bins
+     * @param upperBounds    Receives the highest value of each bin, in ascending order
+     * @return The bin of each coded value
+     * @throws IllegalArgumentException if a value of the attribute is not a number
+     */
+    private int[] quantileBins(int attributeIndex, int binCount, List<String> upperBounds)
+    {
+        int cardinality = getCardinality(attributeIndex);
+        double[] values = new double[cardinality];
+        long[] valueWeights = new long[cardinality];
+        long totalWeight = 0;
+
+        for (int code = 0; code < cardinality; code++)
+        {
+            try
+            {
+                values[code] = Double.parseDouble(dictionaries[attributeIndex][code]);
+            }
+            catch (NumberFormatException numberFormatException)
+            {
+                values[code] = Double.NaN;
+            }
+
+            if (Double.isNaN(values[code]))
+            {
+                throw new IllegalArgumentException("Value of numeric attribute " + attributes.get(attributeIndex) + " is not a number: " + dictionaries[attributeIndex][code]);
+            }
+        }
+
+        for (int row = 0; row < size; row++)
+        {
+            valueWeights[columns[attributeIndex].get(row)] += getWeight(row);
+            totalWeight += getWeight(row);
+        }
+
+        Integer[] codes = new Integer[cardinality];
+        for (int code = 0; code < cardinality; code++)
+        {
+            codes[code] = code;
+        }
+
+        Arrays.sort(codes, Comparator.comparingDouble(code -> values[code]));
+
+        int[] binOfCode = new int[cardinality];
+        long cumulativeWeight = 0;
+
+        for (int rank = 0; rank < cardinality; rank++)
+        {
+            binOfCode[codes[rank]] = upperBounds.size();
+            cumulativeWeight += valueWeights[codes[rank]];
+
+            if (rank == cardinality - 1 || (values[codes[rank + 1]] > values[codes[rank]]
+                    && cumulativeWeight >= (double) (upperBounds.size() + 1) * totalWeight / binCount))
+            {
+                upperBounds.add(dictionaries[attributeIndex][codes[rank]]);
+            }
+        }
+
+        return binOfCode;
+    }
+
+    /**
+     * @return True if any row has a weight other than 1
+     */
+    public boolean isWeighted()
+    {
+        return weights != null;
+    }
+
+    /**
+     * @param row The target row
+     * @return The number of identical data points the row stands for
+     */
+    public int getWeight(int row)
+    {
+        return weights == null ? 1 : weights[row];
+    }
+
+    /**
+     * @return The coded assigned classes
+     */
+    public CodedColumn getClassColumn()
+    {
+        return classColumn;
+    }
+
+    /**
+     * @return The number of distinct assigned classes
+     */
+    public int getClassCount()
+    {
+        return classDictionary.length;
+    }
+
+    /**
+     * @param code The coded class
+     * @return The class represented by the code
+     */
+    public String getClassName(int code)
+    {
+        return classDictionary[code];
+    }
+
+    /**
+     * @param row The target row
+     * @return A view of the given row as a data point
+     */
+    public IData getRow(int row)
+    {
+        return new ColumnarData(row);
+    }
+
+    /**
+     * @param rows The target rows
+     * @return A view of the given rows as a list of data points
+     */
+    public List<IData> getRows(int[] rows)
+    {
+        return getRows(rows, 0, rows.length);
+    }
+
+    /**
+     * @param rows The array holding the target rows
+     * @param from Position of the first target row in the array
+     * @param to   Position after the last target row in the array
+     * @return A view of the given range of rows as a list of data points
+     */
+    public List<IData> getRows(int[] rows, int from, int to)
+    {
+        return new AbstractList<IData>()
+        {
+            @Override
+            public IData get(int index)
+            {
+                return new ColumnarData(rows[from + index]);
+            }
+
+            @Override
+            public int size()
+            {
+                return to - from;
+            }
+        };
+    }
+
+    /**
+     * Dictionary encodes the given data points.
+     *
+     * @param dataSet    The data points
+     * @param attributes List of attribute names
+     * @return Encoder of each attribute in attribute order, followed by the encoder of the assigned classes
+     */
+    private static ColumnEncoder[] encode(List<? extends IData> dataSet, List<String> attributes)
+    {
+        ColumnEncoder[] encoders = new ColumnEncoder[attributes.size() + 1];
+
+        for (int index = 0; index < encoders.length; index++)
+        {
+            encoders[index] = new ColumnEncoder();
+        }
+
+        for (IData dataPoint : dataSet)
+        {
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                encoders[attributeIndex].add(dataPoint.getAttributeValue(attributes.get(attributeIndex)));
+            }
+
+            encoders[attributes.size()].add(dataPoint.assignedClass());
+        }
+
+        return encoders;
+    }
+
+    /**
+     * @param dataSet The data points
+     * @return The weight of each data point, or null if every data point has a weight of 1
+     */
+    private static int[] weights(List<? extends IData> dataSet)
+    {
+        int[] weights = dataSet.stream().mapToInt(IData::getWeight).toArray();
+        return Arrays.stream(weights).allMatch(weight -> weight == 1) ? null : weights;
+    }
+
+    /**
+     * Represents a single row of the data set as a data point.
+     */
+    private class ColumnarData implements IData
+    {
+        private final int row;
+
+        ColumnarData(int row)
+        {
+            this.row = row;
+        }
+
+        /**
+         * @return A string representation of all the attributes and values of this data point along with the assigned class
+         **/
+        @Override
+        public String toString()
+        {
+            return IntStream.range(0, columns.length).mapToObj(attributeIndex -> attributes.get(attributeIndex) + ":" + getValue(attributeIndex, columns[attributeIndex].get(row)))
+                    .collect(Collectors.joining(",")) + " | " + assignedClass();
+        }
+
+        @Override
+        public String assignedClass()
+        {
+            return classDictionary[classColumn.get(row)];
+        }
+
+        @Override
+        public String getAttributeValue(String attribute)
+        {
+            int attributeIndex = getAttributeIndex(attribute);
+            return attributeIndex < 0 ? null : dictionaries[attributeIndex][columns[attributeIndex].get(row)];
+        }
+
+        @Override
+        public int getWeight()
+        {
+            return ColumnarDataSet.this.getWeight(row);
+        }
+    }
+}
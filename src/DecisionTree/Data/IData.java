@@ -12,4 +12,12 @@ public interface IData
      * @return The value associated with the given attribute for this data point
      */
     String getAttributeValue(String attribute);
+
+    /**
+     * @return The number of identical data points this data point stands for in a training set, 1 unless the data has been deduplicated
+     */
+    default int getWeight()
+    {
+        return 1;
+    }
 }
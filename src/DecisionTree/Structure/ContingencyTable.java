@@ -0,0 +1,427 @@
+package DecisionTree.Structure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import DecisionTree.Data.CodedColumn;
+import DecisionTree.Data.ColumnarDataSet;
+
+/**
+ * Holds the (attribute, value, class) occurrence counts of a set of rows of a columnar data set, with each row counted by its weight.
+ * The entropy of the rows and the information gain of each attribute are derived from these counts alone.
+ */
+class ContingencyTable
+{
+    private final ColumnarDataSet dataSet;
+    private final int[] rows;
+    private final int from;
+    private final int to;
+    private final int classCount;
+    private final int[] classCounts;
+    private final int[][] valueClassCounts;
+    private final int size;
+    private ContingencyTable parent;
+    private List<ContingencyTable> siblings;
+
+    /**
+     * Counts the classes of the given rows. The values of each attribute are counted separately by
+     * {@link #countAttribute(int)}, so that only the attributes that are needed are counted and different attributes
+     * can be counted concurrently.
+     *
+     * @param dataSet The data set
+     * @param rows    The array holding the target rows of the data set
+     * @param from    Position of the first target row in the array
+     * @param to      Position after the last target row in the array
+     * @throws IllegalArgumentException if the total weight of the rows exceeds {@link Integer#MAX_VALUE}
+     */
+    ContingencyTable(ColumnarDataSet dataSet, int[] rows, int from, int to)
+    {
+        CodedColumn classColumn = dataSet.getClassColumn();
+        this.dataSet = dataSet;
+        this.rows = rows;
+        this.from = from;
+        this.to = to;
+        this.classCount = dataSet.getClassCount();
+        this.classCounts = new int[classCount];
+        this.valueClassCounts = new int[dataSet.getAttributes().size()][];
+        long size = 0;
+
+        if (dataSet.isWeighted())
+        {
+            for (int index = from; index < to; index++)
+            {
+                size += dataSet.getWeight(rows[index]);
+            }
+
+            // Every count of the rows and of their subsets is bounded by the total weight
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IllegalArgumentException("The total weight of the training data, " + size + ", exceeds the maximum of " + Integer.MAX_VALUE);
+            }
+
+            for (int index = from; index < to; index++)
+            {
+                classCounts[classColumn.get(rows[index])] += dataSet.getWeight(rows[index]);
+            }
+        }
+        else
+        {
+            for (int index = from; index < to; index++)
+            {
+                classCounts[classColumn.get(rows[index])]++;
+            }
+
+            size = to - from;
+        }
+
+        this.size = (int) size;
+    }
+
+    /**
+     * Derives the class counts of a set of rows from the counts of a superset of the rows less the counts of the
+     * remaining rows, without reading the data set. The values of each attribute are derived in the same way when they
+     * are counted by {@link #countAttribute(int)}, if the attribute was counted for the superset and counting any
+     * remaining rows not yet counted is cheaper than counting the target rows.
+     *
+     * @param parent   The counts of the superset of the rows
+     * @param siblings The counts of the rows of the superset that are not target rows, which must not be counted
+     *                 concurrently with this table
+     * @param from     Position of the first target row in the array
+     * @param to       Position after the last target row in the array
+     */
+    ContingencyTable(ContingencyTable parent, List<ContingencyTable> siblings, int from, int to)
+    {
+        this.dataSet = parent.dataSet;
+        this.rows = parent.rows;
+        this.from = from;
+        this.to = to;
+        this.classCount = parent.classCount;
+        this.classCounts = parent.classCounts.clone();
+        this.valueClassCounts = new int[parent.valueClassCounts.length][];
+        this.parent = parent;
+        this.siblings = siblings;
+        int size = parent.size;
+
+        for (ContingencyTable sibling : siblings)
+        {
+            for (int classCode = 0; classCode < classCount; classCode++)
+            {
+                classCounts[classCode] -= sibling.classCounts[classCode];
+            }
+
+            size -= sibling.size;
+        }
+
+        this.size = size;
+    }
+
+    /**
+     * @param attributeIndex The attribute
+     * @return True if the values of the attribute have been counted
+     */
+    boolean isCounted(int attributeIndex)
+    {
+        return valueClassCounts[attributeIndex] != null;
+    }
+
+    /**
+     * Counts the classes of the rows for each value of the given attribute, in a single sequential pass over its column,
+     * or by subtraction if the table was derived and that reads fewer rows. Different attributes may be counted
+     * concurrently.
+     *
+     * @param attributeIndex The attribute to count values for
+     */
+    void countAttribute(int attributeIndex)
+    {
+        if (derives(attributeIndex))
+        {
+            int[] counts = parent.valueClassCounts[attributeIndex].clone();
+
+            for (ContingencyTable sibling : siblings)
+            {
+                if (!sibling.isCounted(attributeIndex))
+                {
+                    sibling.countAttribute(attributeIndex);
+                }
+
+                int[] siblingCounts = sibling.valueClassCounts[attributeIndex];
+                for (int index = 0; index < counts.length; index++)
+                {
+                    counts[index] -= siblingCounts[index];
+                }
+            }
+
+            valueClassCounts[attributeIndex] = counts;
+            return;
+        }
+
+        CodedColumn classColumn = dataSet.getClassColumn();
+        CodedColumn column = dataSet.getColumn(attributeIndex);
+        int[] counts = new int[dataSet.getCardinality(attributeIndex) * classCount];
+
+        if (dataSet.isWeighted())
+        {
+            for (int index = from; index < to; index++)
+            {
+                int row = rows[index];
+                counts[column.get(row) * classCount + classColumn.get(row)] += dataSet.getWeight(row);
+            }
+        }
+        else
+        {
+            for (int index = from; index < to; index++)
+            {
+                int row = rows[index];
+                counts[column.get(row) * classCount + classColumn.get(row)]++;
+            }
+        }
+
+        valueClassCounts[attributeIndex] = counts;
+    }
+
+    /**
+     * @param attributeIndex The attribute
+     * @return True if the values of the attribute are cheaper to derive from the superset than to count
+     */
+    private boolean derives(int attributeIndex)
+    {
+        if (parent == null || !parent.isCounted(attributeIndex))
+        {
+            return false;
+        }
+
+        int uncountedRows = 0;
+        for (ContingencyTable sibling : siblings)
+        {
+            uncountedRows += sibling.isCounted(attributeIndex) ? 0 : sibling.rowCount();
+        }
+
+        return uncountedRows < rowCount();
+    }
+
+    /**
+     * Releases the counts this table was derived from, once every attribute it needs has been counted, so that they are
+     * not held while the subtree below it is built.
+     */
+    void release()
+    {
+        parent = null;
+        siblings = null;
+    }
+
+    /**
+     * @return The total weight of the rows counted, which is the number of rows if the data set is not weighted
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @return The number of rows counted
+     */
+    int rowCount()
+    {
+        return to - from;
+    }
+
+    /**
+     * @return The total weight of the counted rows of each class present
+     */
+    Map<String, Integer> classCounts()
+    {
+        TreeMap<String, Integer> counts = new TreeMap<>();
+
+        for (int classCode = 0; classCode < classCount; classCode++)
+        {
+            if (classCounts[classCode] > 0)
+            {
+                counts.put(dataSet.getClassName(classCode), classCounts[classCode]);
+            }
+        }
+
+        return counts;
+    }
+
+    /**
+     * @return The code of the class of the first counted row found, which is the only class if all rows have the same class
+     */
+    int anyClass()
+    {
+        for (int classCode = 0; classCode < classCount; classCode++)
+        {
+            if (classCounts[classCode] > 0)
+            {
+                return classCode;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return True if all counted rows have the same assigned classification
+     */
+    boolean allSameClass()
+    {
+        return size > 0 && classCounts[anyClass()] == size;
+    }
+
+    /**
+     * @param attributeIndex The attribute
+     * @param code           The coded value of the attribute
+     * @return The total weight of the counted rows with the given value
+     */
+    int valueCount(int attributeIndex, int code)
+    {
+        int valueCount = 0;
+
+        for (int classCode = 0; classCode < classCount; classCode++)
+        {
+            valueCount += valueClassCounts[attributeIndex][code * classCount + classCode];
+        }
+
+        return valueCount;
+    }
+
+    /**
+     * @param attributeIndex The attribute, which must have been counted
+     * @return The number of values of the attribute held by the counted rows
+     */
+    int valueCount(int attributeIndex)
+    {
+        int valueCount = 0;
+
+        for (int code = 0; code < dataSet.getCardinality(attributeIndex); code++)
+        {
+            valueCount += valueCount(attributeIndex, code) > 0 ? 1 : 0;
+        }
+
+        return valueCount;
+    }
+
+    /**
+     * @return The entropy of the counted rows
+     */
+    double entropy()
+    {
+        return entropy(classCounts, 0, classCount, size);
+    }
+
+    /**
+     * Returns the information gain by splitting the counted rows on the given attribute, which must have been counted.
+     *
+     * @param attributeIndex The attribute to split on
+     * @param entropy        The entropy of the counted rows
+     * @return The information gain
+     */
+    double gain(int attributeIndex, double entropy)
+    {
+        int[] counts = valueClassCounts[attributeIndex];
+        double totalEntropy = 0;
+
+        for (int offset = 0; offset < counts.length; offset += classCount)
+        {
+            int valueCount = 0;
+            for (int classCode = 0; classCode < classCount; classCode++)
+            {
+                valueCount += counts[offset + classCode];
+            }
+
+            if (valueCount > 0)
+            {
+                double proportion = (double) valueCount / size;
+
+                totalEntropy += proportion * entropy(counts, offset, classCount, valueCount);
+            }
+        }
+
+        return entropy - totalEntropy;
+    }
+
+    /**
+     * Returns the highest information gain by splitting the counted rows on a numeric attribute at a threshold, which
+     * must have been counted. The thresholds are evaluated in a single sweep over the value counts in numeric order, and
+     * the lowest threshold is kept in the event of a tie.
+     *
+     * @param attributeIndex The numeric attribute to split on
+     * @param ranking        The numeric order of the values of the attribute
+     * @param entropy        The entropy of the counted rows
+     * @param thresholds     Receives the rank of the highest value at or below the best threshold, or -1 if the rows cannot be split
+     * @param slot           Position in the thresholds array to receive the rank
+     * @return The information gain, or negative infinity if the rows cannot be split
+     */
+    double thresholdGain(int attributeIndex, NumericRanking ranking, double entropy, int[] thresholds, int slot)
+    {
+        int[] counts = valueClassCounts[attributeIndex];
+        int[] lowerCounts = new int[classCount];
+        int[] upperCounts = new int[classCount];
+        int lowerSize = 0;
+        int evaluatedLowerSize = 0;
+        double bestGain = Double.NEGATIVE_INFINITY;
+        thresholds[slot] = -1;
+
+        for (int rank = 0; rank < ranking.size() - 1; rank++)
+        {
+            int offset = ranking.codeAt(rank) * classCount;
+
+            for (int classCode = 0; classCode < classCount; classCode++)
+            {
+                lowerCounts[classCode] += counts[offset + classCode];
+                lowerSize += counts[offset + classCode];
+            }
+
+            // Only thresholds between distinct numbers that move rows to the lower side are worth evaluating
+            if (lowerSize == evaluatedLowerSize || lowerSize == size || !ranking.canSplitAfter(rank))
+            {
+                continue;
+            }
+
+            for (int classCode = 0; classCode < classCount; classCode++)
+            {
+                upperCounts[classCode] = classCounts[classCode] - lowerCounts[classCode];
+            }
+
+            double lowerProportion = (double) lowerSize / size;
+            double upperProportion = (double) (size - lowerSize) / size;
+            double gain = entropy - (lowerProportion * entropy(lowerCounts, 0, classCount, lowerSize) + upperProportion * entropy(upperCounts, 0, classCount, size - lowerSize));
+
+            if (gain > bestGain)
+            {
+                bestGain = gain;
+                thresholds[slot] = rank;
+            }
+
+            evaluatedLowerSize = lowerSize;
+        }
+
+        return bestGain;
+    }
+
+    /**
+     * Returns the entropy of a set of class counts.
+     *
+     * @param counts Array holding the number of rows in each class
+     * @param offset Position of the first class count in the array
+     * @param length Number of class counts
+     * @param total  Total number of rows
+     * @return The entropy
+     */
+    static double entropy(int[] counts, int offset, int length, int total)
+    {
+        double entropy = 0;
+
+        for (int index = offset; index < offset + length; index++)
+        {
+            if (counts[index] > 0)
+            {
+                double proportion = (double) counts[index] / total;
+
+                entropy -= proportion * Math.log(proportion);
+            }
+        }
+
+        return entropy;
+    }
+}
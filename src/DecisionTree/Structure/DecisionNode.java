@@ -15,6 +15,8 @@ public class DecisionNode extends Node
     private final String targetAttribute;
     private final double gain;
     private final IResolveUnseenValue unseenValueResolver;
+    private String preparedValue;
+    private Node preparedChild;
 
     /**
      * Creates a new decision node.
@@ -57,12 +59,14 @@ public class DecisionNode extends Node
      */
     public void addChild(String attributeValue, Node node)
     {
+        checkNotFrozen();
         children.put(attributeValue, node);
     }
 
     /**
      * Returns the child node for the given value of the attribute this node splits on, or uses the unseen attribute resolver if
-     * this attribute value has not been seen before.
+     * this attribute value has not been seen before. Once the node is frozen, resolvers that prepare their choice are
+     * not called, and the child they chose is followed directly.
      *
      * @param attributeValue Value of the attribute
      * @param logger         Receives log message detailing the navigation decision at this node
@@ -71,16 +75,78 @@ public class DecisionNode extends Node
      */
     public Node nextNode(String attributeValue, Consumer<String> logger) throws TreeNavigationException
     {
-        if (children.containsKey(attributeValue))
+        Node child = children.get(attributeValue);
+
+        if (child != null)
         {
-            return children.get(attributeValue);
+            return child;
+        }
+        else if (preparedChild != null)
+        {
+            if (logger != null)
+            {
+                logger.accept(unseenValueResolver.describeSubstitution(targetAttribute, attributeValue, preparedValue));
+            }
+
+            return preparedChild;
         }
         else
         {
-            return children.get(unseenValueResolver.resolve(targetAttribute, attributeValue, children, logger));
+            return children.get(unseenValueResolver.resolve(targetAttribute, attributeValue, unmodifiableChildren, logger));
         }
     }
 
+    /**
+     * @param attributeValue Value of the attribute
+     * @return The child node for the given value of the attribute, or null if this value has not been seen before
+     */
+    public Node getChild(String attributeValue)
+    {
+        return children.get(attributeValue);
+    }
+
+    /**
+     * @return The child node followed for every unseen value of the target attribute, or null if the unseen value
+     * resolver does not prepare its choice or the node is not yet frozen
+     */
+    public Node getPreparedChild()
+    {
+        return preparedChild;
+    }
+
+    /**
+     * Freezes this node, letting the unseen value resolver, if there is one, choose once the child to follow for every unseen value.
+     *
+     * @param id Position of this node in the depth first order of its tree
+     */
+    @Override
+    void freeze(int id)
+    {
+        super.freeze(id);
+
+        if (preparedChild == null && unseenValueResolver != null && !children.isEmpty())
+        {
+            preparedValue = unseenValueResolver.prepare(targetAttribute, unmodifiableChildren);
+            preparedChild = preparedValue == null ? null : children.get(preparedValue);
+        }
+    }
+
+    /**
+     * @return Resolver for handling values not seen in the training data
+     */
+    public IResolveUnseenValue getUnseenValueResolver()
+    {
+        return unseenValueResolver;
+    }
+
+    /**
+     * @return The information gain this node develops from the training data
+     */
+    public double getGain()
+    {
+        return gain;
+    }
+
     /**
      * @return The target attribute of this decision node
      */
@@ -90,11 +156,11 @@ public class DecisionNode extends Node
     }
 
     /**
-     * @return The children of this node indexed by the associated attribute value
+     * @return The children of this node indexed by the associated attribute value, which cannot be modified
      */
     public Set<Entry<String, Node>> getChildren()
     {
-        return children.entrySet();
+        return unmodifiableChildren.entrySet();
     }
 
 }
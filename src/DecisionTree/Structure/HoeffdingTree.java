@@ -0,0 +1,397 @@
+package DecisionTree.Structure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import DecisionTree.Data.IData;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Trains a decision tree on an unbounded stream of data points without holding on to them, as a Hoeffding tree.
+ * Each leaf keeps only the (attribute, value, class) counts of the data points that have reached it since it was
+ * created. A leaf is split on the attribute with the highest information gain once the Hoeffding bound shows, with the
+ * configured confidence, that the attribute would also be chosen given the whole stream. The number of nodes and the
+ * number of distinct values each leaf counts separately are bounded, so the memory used does not grow with the length
+ * of the stream, apart from the class counts of a stream with an unbounded number of classes.
+ * Data points may be added and snapshots taken from different threads.
+ */
+public class HoeffdingTree
+{
+    private static final String SAME_CLASS_REASON = "All remaining samples in same class";
+    private static final String MOST_COMMON_CLASS_REASON = "Most common class of the data points seen at this leaf";
+
+    private final List<String> attributes;
+    private final IResolveUnseenValue unseenValuesResolver;
+    private final StreamingOptions options;
+    private StreamingNode root = null;
+    private int nodeCount = 0;
+
+    /**
+     * Creates a new streaming tree with the default streaming options.
+     *
+     * @param attributes           List of attribute names
+     * @param unseenValuesResolver Resolver for classifying values not seen in training examples
+     */
+    public HoeffdingTree(List<String> attributes, IResolveUnseenValue unseenValuesResolver)
+    {
+        this(attributes, unseenValuesResolver, new StreamingOptions());
+    }
+
+    /**
+     * Creates a new streaming tree.
+     *
+     * @param attributes           List of attribute names
+     * @param unseenValuesResolver Resolver for classifying values not seen in training examples
+     * @param options              Streaming options
+     */
+    public HoeffdingTree(List<String> attributes, IResolveUnseenValue unseenValuesResolver, StreamingOptions options)
+    {
+        this.attributes = List.copyOf(attributes);
+        this.unseenValuesResolver = unseenValuesResolver;
+        this.options = options;
+    }
+
+    /**
+     * Adds a labelled data point from the stream, which is counted at the leaf it reaches and then discarded.
+     *
+     * @param dataPoint The data point
+     */
+    public synchronized void addData(IData dataPoint)
+    {
+        if (root == null)
+        {
+            root = new StreamingNode(new boolean[attributes.size()]);
+            nodeCount = 1;
+        }
+
+        StreamingNode node = root;
+
+        while (node != null)
+        {
+            node = node.add(dataPoint);
+        }
+    }
+
+    /**
+     * @return The total weight of the data points added
+     */
+    public synchronized long size()
+    {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * @return The number of nodes in the tree
+     */
+    public synchronized int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Copies the current state of the tree into a tree for classification, which is unaffected by later additions.
+     *
+     * @return The tree
+     */
+    public synchronized Tree toTree()
+    {
+        if (root == null)
+        {
+            throw new IllegalStateException("No training data has been added");
+        }
+
+        return new Tree(root.toNode());
+    }
+
+    /**
+     * Returns the entropy of a set of class counts.
+     *
+     * @param counts Number of data points in each class
+     * @param total  Total number of data points
+     * @return The entropy
+     */
+    private static double entropy(TreeMap<String, Long> counts, long total)
+    {
+        double entropy = 0;
+
+        for (long count : counts.values())
+        {
+            double proportion = (double) count / total;
+
+            entropy -= proportion * Math.log(proportion);
+        }
+
+        return entropy;
+    }
+
+    /**
+     * A node of the streaming tree, which is a leaf counting the data points that reach it until it is split on an attribute.
+     */
+    private class StreamingNode
+    {
+        private final boolean[] usedAttributes;
+        private final TreeMap<String, Long> classCounts;
+        private long size;
+        private TreeMap<String, Long> observedClassCounts = new TreeMap<>();
+        private ArrayList<TreeMap<String, TreeMap<String, Long>>> valueClassCounts = new ArrayList<>();
+        private ArrayList<TreeMap<String, Long>> overflowClassCounts = new ArrayList<>();
+        private long observed = 0;
+        private long observedAtLastEvaluation = 0;
+        private int splitAttribute = -1;
+        private double gain = 0;
+        private TreeMap<String, StreamingNode> children = null;
+
+        /**
+         * Creates a leaf with no prior knowledge of the classes that reach it.
+         *
+         * @param usedAttributes Flags the attributes that have been used prior to this node in the tree
+         */
+        StreamingNode(boolean[] usedAttributes)
+        {
+            this(usedAttributes, new TreeMap<>());
+        }
+
+        /**
+         * Creates a leaf whose class is initially given by the counts its parent observed for the value leading to it.
+         *
+         * @param usedAttributes Flags the attributes that have been used prior to this node in the tree
+         * @param classCounts    Number of data points of each class known to reach this leaf
+         */
+        StreamingNode(boolean[] usedAttributes, TreeMap<String, Long> classCounts)
+        {
+            this.usedAttributes = usedAttributes;
+            this.classCounts = classCounts;
+            this.size = classCounts.values().stream().mapToLong(Long::longValue).sum();
+
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                valueClassCounts.add(usedAttributes[attributeIndex] ? null : new TreeMap<>());
+                overflowClassCounts.add(usedAttributes[attributeIndex] ? null : new TreeMap<>());
+            }
+        }
+
+        /**
+         * Adds a data point to this node, splitting a leaf once the grace period has passed and the Hoeffding bound allows.
+         * The class counts of every node include the data points passing through it, so a data point whose value has no
+         * child and no room for one is still counted at the decision node it stops at.
+         *
+         * @param dataPoint The data point
+         * @return The child the data point should be added to next, or null if it has been counted
+         */
+        StreamingNode add(IData dataPoint)
+        {
+            String assignedClass = dataPoint.assignedClass();
+            long weight = dataPoint.getWeight();
+            size += weight;
+            classCounts.merge(assignedClass, weight, Long::sum);
+
+            if (children != null)
+            {
+                String value = dataPoint.getAttributeValue(attributes.get(splitAttribute));
+                StreamingNode child = children.get(value);
+
+                if (child == null && nodeCount < options.getMaxNodes())
+                {
+                    boolean[] childUsedAttributes = usedAttributes.clone();
+                    childUsedAttributes[splitAttribute] = true;
+                    child = new StreamingNode(childUsedAttributes);
+                    children.put(value, child);
+                    nodeCount++;
+                }
+
+                return child;
+            }
+
+            observedClassCounts.merge(assignedClass, weight, Long::sum);
+            observed += weight;
+
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                if (!usedAttributes[attributeIndex])
+                {
+                    TreeMap<String, TreeMap<String, Long>> attributeCounts = valueClassCounts.get(attributeIndex);
+                    String value = dataPoint.getAttributeValue(attributes.get(attributeIndex));
+                    TreeMap<String, Long> counts = attributeCounts.get(value);
+
+                    if (counts == null && attributeCounts.size() < options.getMaxValuesPerAttribute())
+                    {
+                        counts = new TreeMap<>();
+                        attributeCounts.put(value, counts);
+                    }
+                    else if (counts == null)
+                    {
+                        // Values beyond the limit share a single count, so the leaf does not grow with the cardinality
+                        counts = overflowClassCounts.get(attributeIndex);
+                    }
+
+                    counts.merge(assignedClass, weight, Long::sum);
+                }
+            }
+
+            if (observed - observedAtLastEvaluation >= options.getGracePeriod())
+            {
+                observedAtLastEvaluation = observed;
+                evaluateSplit();
+            }
+
+            return null;
+        }
+
+        /**
+         * Splits this leaf on the attribute with the highest information gain if the Hoeffding bound shows it is better
+         * than the runner up, or the bound is below the tie threshold, and the tree has room for the new leaves.
+         */
+        private void evaluateSplit()
+        {
+            if (observedClassCounts.size() < 2)
+            {
+                return;
+            }
+
+            double entropy = entropy(observedClassCounts, observed);
+            int bestAttribute = -1;
+            double bestGain = 0;
+            double runnerUpGain = 0;
+
+            // Highest gain, then by alphabetical attribute name
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                if (!usedAttributes[attributeIndex])
+                {
+                    double gain = gain(attributeIndex, entropy);
+
+                    if (bestAttribute < 0 || gain > bestGain || (gain == bestGain && attributes.get(attributeIndex).compareTo(attributes.get(bestAttribute)) < 0))
+                    {
+                        runnerUpGain = bestAttribute < 0 ? 0 : bestGain;
+                        bestAttribute = attributeIndex;
+                        bestGain = gain;
+                    }
+                    else
+                    {
+                        runnerUpGain = Math.max(runnerUpGain, gain);
+                    }
+                }
+            }
+
+            if (bestAttribute < 0 || bestGain <= 0 || nodeCount + valueClassCounts.get(bestAttribute).size() > options.getMaxNodes())
+            {
+                return;
+            }
+
+            double range = Math.log(observedClassCounts.size());
+            double hoeffdingBound = Math.sqrt(range * range * Math.log(1 / options.getSplitConfidence()) / (2 * observed));
+
+            if (bestGain - runnerUpGain > hoeffdingBound || hoeffdingBound < options.getTieThreshold())
+            {
+                split(bestAttribute, bestGain);
+            }
+        }
+
+        /**
+         * Splits this leaf, creating a child leaf for each value of the attribute it has counted separately. The counts of
+         * the leaf are discarded, apart from the class counts of each value which give the initial class of each child.
+         *
+         * @param attributeIndex The attribute to split on
+         * @param gain           The information gain of the attribute
+         */
+        private void split(int attributeIndex, double gain)
+        {
+            boolean[] childUsedAttributes = usedAttributes.clone();
+            childUsedAttributes[attributeIndex] = true;
+
+            splitAttribute = attributeIndex;
+            this.gain = gain;
+            children = new TreeMap<>();
+
+            for (Entry<String, TreeMap<String, Long>> value : valueClassCounts.get(attributeIndex).entrySet())
+            {
+                children.put(value.getKey(), new StreamingNode(childUsedAttributes, value.getValue()));
+                nodeCount++;
+            }
+
+            observedClassCounts = null;
+            valueClassCounts = null;
+            overflowClassCounts = null;
+        }
+
+        /**
+         * @param attributeIndex The attribute
+         * @param entropy        The entropy of the data points observed at this leaf
+         * @return The information gain of splitting this leaf on the attribute
+         */
+        private double gain(int attributeIndex, double entropy)
+        {
+            double totalEntropy = 0;
+
+            for (TreeMap<String, Long> counts : valueClassCounts.get(attributeIndex).values())
+            {
+                totalEntropy += weightedEntropy(counts);
+            }
+
+            return entropy - totalEntropy - weightedEntropy(overflowClassCounts.get(attributeIndex));
+        }
+
+        /**
+         * @param counts The class counts of the data points holding a value of an attribute
+         * @return The entropy of the class counts, weighted by the proportion of the observed data points they cover
+         */
+        private double weightedEntropy(TreeMap<String, Long> counts)
+        {
+            long valueCount = counts.values().stream().mapToLong(Long::longValue).sum();
+
+            return valueCount == 0 ? 0 : (double) valueCount / observed * HoeffdingTree.entropy(counts, valueCount);
+        }
+
+        /**
+         * @return A copy of this subtree as decision tree nodes
+         */
+        Node toNode()
+        {
+            int occurrences = (int) Math.min(size, Integer.MAX_VALUE);
+
+            TreeMap<String, Integer> nodeClassCounts = new TreeMap<>();
+            for (Entry<String, Long> classCount : classCounts.entrySet())
+            {
+                nodeClassCounts.put(classCount.getKey(), (int) Math.min(classCount.getValue(), Integer.MAX_VALUE));
+            }
+
+            if (children == null)
+            {
+                LeafNode leaf;
+                if (classCounts.size() == 1)
+                {
+                    leaf = new LeafNode(classCounts.firstKey(), SAME_CLASS_REASON, occurrences);
+                }
+                else
+                {
+                    // Most common class, then by alphabetical class in event of a tie
+                    String mostCommonClass = null;
+                    for (Entry<String, Long> classCount : classCounts.entrySet())
+                    {
+                        if (mostCommonClass == null || classCount.getValue() > classCounts.get(mostCommonClass))
+                        {
+                            mostCommonClass = classCount.getKey();
+                        }
+                    }
+
+                    leaf = new LeafNode(mostCommonClass, MOST_COMMON_CLASS_REASON, occurrences);
+                }
+
+                leaf.setClassCounts(nodeClassCounts);
+                return leaf;
+            }
+
+            DecisionNode node = new DecisionNode(attributes.get(splitAttribute), unseenValuesResolver, gain, occurrences);
+            node.setClassCounts(nodeClassCounts);
+
+            for (Entry<String, StreamingNode> child : children.entrySet())
+            {
+                node.addChild(child.getKey(), child.getValue().toNode());
+            }
+
+            return node;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package DecisionTree.Structure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import DecisionTree.AllAttributesUsedResolvers.IResolveAllAttributesUsed;
+import DecisionTree.Data.IData;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Trains a decision tree by the ID3 algorithm one data point at a time, in the style of ID5R.
+ * Each node keeps the (attribute, value, class) counts of the data points that reached it, and the data points themselves
+ * are only held at the leaves. When a data point is added the best split of each node on its path is recomputed from the
+ * counts alone, and only a subtree whose best split has changed is rebuilt from the data points below it. A snapshot
+ * of the tree is identical to a tree trained on all the data points added so far.
+ */
+public class IncrementalTree
+{
+    private static final String SAME_CLASS_REASON = "All remaining samples in same class";
+    private static final String ALL_ATTRIBUTES_USED_REASON = "All attributes used, assigning the following class: ";
+
+    private final List<String> attributes;
+    private final IResolveAllAttributesUsed allAttributesUsedResolver;
+    private final IResolveUnseenValue unseenValuesResolver;
+    private IncrementalNode root = null;
+
+    /**
+     * Creates a new incremental tree with no training data.
+     *
+     * @param attributes                List of attribute names
+     * @param allAttributesUsedResolver Resolver for inconsistent classes in training examples
+     * @param unseenValuesResolver      Resolver for classifying values not seen in training examples
+     */
+    public IncrementalTree(List<String> attributes, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver)
+    {
+        this.attributes = List.copyOf(attributes);
+        this.allAttributesUsedResolver = allAttributesUsedResolver;
+        this.unseenValuesResolver = unseenValuesResolver;
+    }
+
+    /**
+     * Adds a labelled data point to the training data, restructuring only the parts of the tree it affects.
+     *
+     * @param dataPoint The data point
+     * @throws IllegalArgumentException if the total weight of the training data would exceed {@link Integer#MAX_VALUE}
+     */
+    public void addData(IData dataPoint)
+    {
+        if (root == null)
+        {
+            root = new IncrementalNode(new boolean[attributes.size()]);
+        }
+
+        IncrementalNode node = root;
+
+        while (node != null)
+        {
+            node = node.add(dataPoint);
+        }
+    }
+
+    /**
+     * Adds labelled data points to the training data in order.
+     *
+     * @param dataSet The data points
+     */
+    public void addData(List<? extends IData> dataSet)
+    {
+        for (IData dataPoint : dataSet)
+        {
+            addData(dataPoint);
+        }
+    }
+
+    /**
+     * @return The total weight of the data points added
+     */
+    public int size()
+    {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Copies the current state of the tree into a tree for classification, which is unaffected by later additions.
+     *
+     * @return The tree
+     */
+    public Tree toTree()
+    {
+        if (root == null)
+        {
+            throw new IllegalStateException("No training data has been added");
+        }
+
+        return new Tree(root.toNode());
+    }
+
+    /**
+     * A node of the incremental tree, which is a leaf holding its data points until it is split on an attribute.
+     */
+    private class IncrementalNode
+    {
+        private final boolean[] usedAttributes;
+        private final TreeMap<String, Integer> classCounts = new TreeMap<>();
+        private final ArrayList<TreeMap<String, TreeMap<String, Integer>>> valueClassCounts = new ArrayList<>();
+        private int size = 0;
+        private ArrayList<IData> dataPoints = new ArrayList<>();
+        private int splitAttribute = -1;
+        private double gain = 0;
+        private TreeMap<String, IncrementalNode> children = null;
+
+        /**
+         * @param usedAttributes Flags the attributes that have been used prior to this node in the tree
+         */
+        IncrementalNode(boolean[] usedAttributes)
+        {
+            this.usedAttributes = usedAttributes;
+
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                valueClassCounts.add(usedAttributes[attributeIndex] ? null : new TreeMap<>());
+            }
+        }
+
+        /**
+         * Adds a data point to this node, splitting a leaf or rebuilding this subtree if its best split changes.
+         *
+         * @param dataPoint The data point
+         * @return The child the data point should be added to next, or null if it has been placed
+         */
+        IncrementalNode add(IData dataPoint)
+        {
+            count(dataPoint);
+
+            if (children == null)
+            {
+                dataPoints.add(dataPoint);
+                split();
+                return null;
+            }
+
+            int bestAttribute = bestAttribute();
+
+            if (bestAttribute != splitAttribute)
+            {
+                dataPoints = new ArrayList<>();
+                collectDataPoints(dataPoints);
+                dataPoints.add(dataPoint);
+                children = null;
+                splitAttribute = -1;
+                split();
+                return null;
+            }
+
+            gain = gain(splitAttribute);
+            return child(dataPoint.getAttributeValue(attributes.get(splitAttribute)));
+        }
+
+        /**
+         * Splits this leaf on its best attribute, and its new children in turn, unless it should remain a leaf.
+         */
+        private void split()
+        {
+            if (classCounts.size() < 2 || availableAttributeCount() == 0)
+            {
+                return;
+            }
+
+            splitAttribute = bestAttribute();
+            gain = gain(splitAttribute);
+            children = new TreeMap<>();
+
+            for (IData dataPoint : dataPoints)
+            {
+                IncrementalNode child = child(dataPoint.getAttributeValue(attributes.get(splitAttribute)));
+                child.count(dataPoint);
+                child.dataPoints.add(dataPoint);
+            }
+
+            dataPoints = null;
+
+            for (IncrementalNode child : children.values())
+            {
+                child.split();
+            }
+        }
+
+        /**
+         * @param value Value of the attribute this node splits on
+         * @return The child for the value, created if the value has not reached this node before
+         */
+        private IncrementalNode child(String value)
+        {
+            return children.computeIfAbsent(value, key -> {
+                boolean[] childUsedAttributes = usedAttributes.clone();
+                childUsedAttributes[splitAttribute] = true;
+                return new IncrementalNode(childUsedAttributes);
+            });
+        }
+
+        /**
+         * Adds a data point to the counts of this node by its weight.
+         *
+         * @param dataPoint The data point
+         * @throws IllegalArgumentException if the total weight of the node would exceed {@link Integer#MAX_VALUE}
+         */
+        private void count(IData dataPoint)
+        {
+            String assignedClass = dataPoint.assignedClass();
+            int weight = dataPoint.getWeight();
+
+            if (weight > Integer.MAX_VALUE - size)
+            {
+                throw new IllegalArgumentException("The total weight of the training data exceeds the maximum of " + Integer.MAX_VALUE);
+            }
+
+            classCounts.merge(assignedClass, weight, Integer::sum);
+            size += weight;
+
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                if (!usedAttributes[attributeIndex])
+                {
+                    valueClassCounts.get(attributeIndex).computeIfAbsent(dataPoint.getAttributeValue(attributes.get(attributeIndex)), value -> new TreeMap<>())
+                            .merge(assignedClass, weight, Integer::sum);
+                }
+            }
+        }
+
+        /**
+         * @return The available attribute with the highest gain, then by alphabetical attribute name
+         */
+        private int bestAttribute()
+        {
+            int bestAttribute = -1;
+            double bestGain = 0;
+
+            for (int attributeIndex = 0; attributeIndex < attributes.size(); attributeIndex++)
+            {
+                if (!usedAttributes[attributeIndex])
+                {
+                    double gain = gain(attributeIndex);
+
+                    if (bestAttribute < 0 || gain > bestGain || (gain == bestGain && attributes.get(attributeIndex).compareTo(attributes.get(bestAttribute)) < 0))
+                    {
+                        bestAttribute = attributeIndex;
+                        bestGain = gain;
+                    }
+                }
+            }
+
+            return bestAttribute;
+        }
+
+        /**
+         * Computes the information gain of splitting this node on an attribute from its counts, summing in the same
+         * order as {@link ContingencyTable} so that the result is identical to that of a tree trained in one pass.
+         *
+         * @param attributeIndex The attribute
+         * @return The information gain
+         */
+        private double gain(int attributeIndex)
+        {
+            double totalEntropy = 0;
+
+            for (TreeMap<String, Integer> counts : valueClassCounts.get(attributeIndex).values())
+            {
+                int valueCount = 0;
+                for (int count : counts.values())
+                {
+                    valueCount += count;
+                }
+
+                totalEntropy += (double) valueCount / size * entropy(counts, valueCount);
+            }
+
+            return entropy(classCounts, size) - totalEntropy;
+        }
+
+        /**
+         * @param counts Number of data points in each class
+         * @param total  Total number of data points
+         * @return The entropy of the class counts
+         */
+        private double entropy(TreeMap<String, Integer> counts, int total)
+        {
+            return ContingencyTable.entropy(counts.values().stream().mapToInt(Integer::intValue).toArray(), 0, counts.size(), total);
+        }
+
+        /**
+         * @return The number of attributes not used prior to this node in the tree
+         */
+        private int availableAttributeCount()
+        {
+            int availableCount = 0;
+            for (boolean used : usedAttributes)
+            {
+                availableCount += used ? 0 : 1;
+            }
+
+            return availableCount;
+        }
+
+        /**
+         * @param dataPoints Receives the data points held by the leaves of this subtree
+         */
+        private void collectDataPoints(ArrayList<IData> dataPoints)
+        {
+            if (children == null)
+            {
+                dataPoints.addAll(this.dataPoints);
+            }
+            else
+            {
+                for (IncrementalNode child : children.values())
+                {
+                    child.collectDataPoints(dataPoints);
+                }
+            }
+        }
+
+        /**
+         * @return A copy of this subtree as decision tree nodes
+         */
+        Node toNode()
+        {
+            if (children == null)
+            {
+                LeafNode leaf = classCounts.size() == 1 ? new LeafNode(classCounts.firstKey(), SAME_CLASS_REASON, size)
+                        : new LeafNode(allAttributesUsedResolver.getClass(dataPoints), ALL_ATTRIBUTES_USED_REASON, size);
+                leaf.setClassCounts(classCounts);
+                return leaf;
+            }
+
+            DecisionNode node = new DecisionNode(attributes.get(splitAttribute), unseenValuesResolver, gain, size);
+            node.setClassCounts(classCounts);
+
+            for (Entry<String, IncrementalNode> child : children.entrySet())
+            {
+                node.addChild(child.getKey(), child.getValue().toNode());
+            }
+
+            return node;
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package DecisionTree.Structure;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.TreeMap;
 
 /**
  * Abstract base class of both decision and leaf nodes in the decision tree.
+ * Nodes are assembled while training or loading a tree and frozen once wrapped by a {@link Tree}, after which any
+ * attempt to change them throws an IllegalStateException. A frozen node is immutable and may be shared between threads.
  */
 public abstract class Node
 {
     protected final TreeMap<String, Node> children = new TreeMap<String, Node>();
-    protected int occurrencesInDataSet;
+    protected final NavigableMap<String, Node> unmodifiableChildren = Collections.unmodifiableNavigableMap(children);
+    protected final int occurrencesInDataSet;
+    private Map<String, Integer> classCounts = Map.of();
+    private int id = -1;
+    private boolean frozen;
 
     /**
      * @param occurrencesInDataSet Number of times the value leading to this node appeared in the training data set
@@ -30,4 +39,78 @@ public abstract class Node
     {
         return occurrencesInDataSet;
     }
+
+    /**
+     * @return The weight of the training data of each class at this node, empty if not known
+     */
+    public Map<String, Integer> getClassCounts()
+    {
+        return classCounts;
+    }
+
+    /**
+     * Records the weight of the training data of each class at this node, from which the training error of the node
+     * as a leaf is known when pruning the tree.
+     *
+     * @param classCounts The weight of each class, summing to the occurrences of this node
+     */
+    public void setClassCounts(Map<String, Integer> classCounts)
+    {
+        checkNotFrozen();
+        this.classCounts = Collections.unmodifiableMap(new TreeMap<>(classCounts));
+    }
+
+    /**
+     * @return The most common class of the training data at this node, the earliest alphabetically in the event of a tie, or null if the class counts are not known
+     */
+    public String getMostCommonClass()
+    {
+        String mostCommonClass = null;
+
+        for (Map.Entry<String, Integer> classCount : classCounts.entrySet())
+        {
+            if (mostCommonClass == null || classCount.getValue() > classCounts.get(mostCommonClass))
+            {
+                mostCommonClass = classCount.getKey();
+            }
+        }
+
+        return mostCommonClass;
+    }
+
+    /**
+     * @return Position of this node in the depth first order of its tree, with children visited in order of their attribute value
+     */
+    public int getId()
+    {
+        return id;
+    }
+
+    /**
+     * Numbers this node and prevents any further change to it. A node already frozen may only be frozen again at the
+     * same position, as when the same root is wrapped by another tree.
+     *
+     * @param id Position of this node in the depth first order of its tree
+     */
+    void freeze(int id)
+    {
+        if (frozen && this.id != id)
+        {
+            throw new IllegalStateException("Node " + this.id + " already belongs to a tree at a different position");
+        }
+
+        this.id = id;
+        this.frozen = true;
+    }
+
+    /**
+     * @throws IllegalStateException If this node belongs to a tree and can no longer be changed
+     */
+    protected void checkNotFrozen()
+    {
+        if (frozen)
+        {
+            throw new IllegalStateException("Node " + id + " belongs to a tree and can no longer be changed");
+        }
+    }
 }
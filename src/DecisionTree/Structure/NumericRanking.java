@@ -0,0 +1,93 @@
+package DecisionTree.Structure;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import DecisionTree.Data.ColumnarDataSet;
+
+/**
+ * Orders the distinct values of a numeric attribute of a columnar data set by number, once before training.
+ * Every node then finds its best threshold by sweeping its value counts in this order, without sorting any rows.
+ */
+class NumericRanking
+{
+    private final int[] codesByRank;
+    private final int[] rankOfCode;
+    private final double[] valuesByRank;
+
+    /**
+     * @param dataSet        The data set
+     * @param attributeIndex The numeric attribute
+     * @throws IllegalArgumentException if a value of the attribute is not a number
+     */
+    NumericRanking(ColumnarDataSet dataSet, int attributeIndex)
+    {
+        int cardinality = dataSet.getCardinality(attributeIndex);
+        double[] values = new double[cardinality];
+
+        for (int code = 0; code < cardinality; code++)
+        {
+            values[code] = ThresholdNode.parse(dataSet.getValue(attributeIndex, code));
+
+            if (Double.isNaN(values[code]))
+            {
+                throw new IllegalArgumentException("Value of numeric attribute " + dataSet.getAttributes().get(attributeIndex) + " is not a number: "
+                        + dataSet.getValue(attributeIndex, code));
+            }
+        }
+
+        Integer[] codes = new Integer[cardinality];
+        for (int code = 0; code < cardinality; code++)
+        {
+            codes[code] = code;
+        }
+
+        Arrays.sort(codes, Comparator.comparingDouble(code -> values[code]));
+
+        this.codesByRank = new int[cardinality];
+        this.rankOfCode = new int[cardinality];
+        this.valuesByRank = new double[cardinality];
+
+        for (int rank = 0; rank < cardinality; rank++)
+        {
+            codesByRank[rank] = codes[rank];
+            rankOfCode[codes[rank]] = rank;
+            valuesByRank[rank] = values[codes[rank]];
+        }
+    }
+
+    /**
+     * @return The number of distinct values
+     */
+    int size()
+    {
+        return codesByRank.length;
+    }
+
+    /**
+     * @param rank Position of a value in numeric order
+     * @return The code of the value
+     */
+    int codeAt(int rank)
+    {
+        return codesByRank[rank];
+    }
+
+    /**
+     * @param code The code of a value
+     * @return Position of the value in numeric order
+     */
+    int rankOf(int code)
+    {
+        return rankOfCode[code];
+    }
+
+    /**
+     * @param rank Position of a value in numeric order
+     * @return True if the next value is a larger number, so that a threshold at this value separates them
+     */
+    boolean canSplitAfter(int rank)
+    {
+        return rank + 1 < valuesByRank.length && valuesByRank[rank] < valuesByRank[rank + 1];
+    }
+}
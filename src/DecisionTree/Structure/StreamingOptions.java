@@ -0,0 +1,129 @@
+package DecisionTree.Structure;
+
+/**
+ * Options controlling when a streaming decision tree splits its leaves.
+ */
+public class StreamingOptions
+{
+    private int gracePeriod = 200;
+    private double splitConfidence = 1e-7;
+    private double tieThreshold = 0.05;
+    private int maxNodes = 10000;
+    private int maxValuesPerAttribute = 1000;
+
+    /**
+     * @return The number of data points a leaf receives between evaluations of whether to split it
+     */
+    public int getGracePeriod()
+    {
+        return gracePeriod;
+    }
+
+    /**
+     * Sets the number of data points a leaf receives between evaluations of whether to split it, since scoring every
+     * attribute after every data point is wasteful when a single data point rarely changes the outcome.
+     *
+     * @param gracePeriod Number of data points counted by weight, at least 1
+     */
+    public void setGracePeriod(int gracePeriod)
+    {
+        if (gracePeriod < 1)
+        {
+            throw new IllegalArgumentException("Grace period must be at least 1");
+        }
+
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * @return The allowed probability of splitting on an attribute other than the one a tree trained on the whole stream would choose
+     */
+    public double getSplitConfidence()
+    {
+        return splitConfidence;
+    }
+
+    /**
+     * Sets the allowed probability of splitting a leaf on an attribute other than the one a tree trained on the whole
+     * stream would choose, the delta of the Hoeffding bound.
+     *
+     * @param splitConfidence Probability between 0 and 1 exclusive
+     */
+    public void setSplitConfidence(double splitConfidence)
+    {
+        if (splitConfidence <= 0 || splitConfidence >= 1)
+        {
+            throw new IllegalArgumentException("Split confidence must be between 0 and 1");
+        }
+
+        this.splitConfidence = splitConfidence;
+    }
+
+    /**
+     * @return The Hoeffding bound below which a leaf is split on the best attribute even if the runner up is as good
+     */
+    public double getTieThreshold()
+    {
+        return tieThreshold;
+    }
+
+    /**
+     * Sets the Hoeffding bound below which a leaf is split on the best attribute even though the runner up cannot be
+     * ruled out, so that attributes of near equal gain do not hold a leaf back indefinitely.
+     *
+     * @param tieThreshold Bound on the difference in information gain
+     */
+    public void setTieThreshold(double tieThreshold)
+    {
+        this.tieThreshold = tieThreshold;
+    }
+
+    /**
+     * @return The maximum number of nodes in the tree
+     */
+    public int getMaxNodes()
+    {
+        return maxNodes;
+    }
+
+    /**
+     * Sets the maximum number of nodes in the tree, which bounds the memory used however long the stream runs. Once
+     * reached, leaves continue to count the data points that reach them but are no longer split.
+     *
+     * @param maxNodes Number of nodes, at least 1
+     */
+    public void setMaxNodes(int maxNodes)
+    {
+        if (maxNodes < 1)
+        {
+            throw new IllegalArgumentException("Maximum nodes must be at least 1");
+        }
+
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @return The maximum number of distinct values of each attribute a leaf counts separately
+     */
+    public int getMaxValuesPerAttribute()
+    {
+        return maxValuesPerAttribute;
+    }
+
+    /**
+     * Sets the maximum number of distinct values of each attribute a leaf counts separately, which bounds the memory
+     * of each leaf for attributes of unbounded cardinality such as identifiers. Values first seen once a leaf counts
+     * this many are counted together, and a split on the attribute gives them no child of their own.
+     *
+     * @param maxValuesPerAttribute Number of values, at least 1
+     */
+    public void setMaxValuesPerAttribute(int maxValuesPerAttribute)
+    {
+        if (maxValuesPerAttribute < 1)
+        {
+            throw new IllegalArgumentException("Maximum values per attribute must be at least 1");
+        }
+
+        this.maxValuesPerAttribute = maxValuesPerAttribute;
+    }
+}
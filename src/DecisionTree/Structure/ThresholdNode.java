@@ -0,0 +1,125 @@
+package DecisionTree.Structure;
+
+import java.util.function.Consumer;
+
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Represents a node in the decision tree splitting a numeric attribute at a threshold, with one child for values at or
+ * below the threshold and one for values above it. The children are held under the keys "&lt;=threshold" and
+ * "&gt;threshold", and values that are not numbers are passed to the unseen value resolver.
+ */
+public class ThresholdNode extends DecisionNode
+{
+    private final double threshold;
+    private final String thresholdText;
+    private final String lowerKey;
+    private final String upperKey;
+
+    /**
+     * Creates a new threshold node.
+     *
+     * @param targetAttribute      The numeric attribute this node is splitting on
+     * @param unseenValueResolver  Resolver for handling values that are not numbers
+     * @param gain                 The information gain this node develops from the training data
+     * @param occurrencesInDataSet The number of data points that remained in the training data at this point in the tree
+     * @param thresholdText        The threshold as it appears in the training data
+     */
+    public ThresholdNode(String targetAttribute, IResolveUnseenValue unseenValueResolver, double gain, int occurrencesInDataSet, String thresholdText)
+    {
+        super(targetAttribute, unseenValueResolver, gain, occurrencesInDataSet);
+        this.threshold = Double.parseDouble(thresholdText);
+        this.thresholdText = thresholdText;
+        this.lowerKey = "<=" + thresholdText;
+        this.upperKey = ">" + thresholdText;
+    }
+
+    /**
+     * @return The key of the child for values at or below the threshold
+     */
+    public String lowerKey()
+    {
+        return lowerKey;
+    }
+
+    /**
+     * @return The key of the child for values above the threshold
+     */
+    public String upperKey()
+    {
+        return upperKey;
+    }
+
+    /**
+     * @param upper True for the child of values above the threshold, false for values at or below it
+     * @return The child node, or null if no training data fell on that side of the threshold
+     */
+    public Node getChild(boolean upper)
+    {
+        return children.get(upper ? upperKey : lowerKey);
+    }
+
+    /**
+     * @return The threshold
+     */
+    public double getThreshold()
+    {
+        return threshold;
+    }
+
+    /**
+     * @return The threshold as it appears in the training data
+     */
+    public String getThresholdText()
+    {
+        return thresholdText;
+    }
+
+    /**
+     * Returns the child node for the given value, or uses the unseen attribute resolver if the value is not a number.
+     *
+     * @param attributeValue Value of the attribute
+     * @param logger         Receives log message detailing the navigation decision at this node
+     * @return The child node for the given value of the attribute
+     * @throws TreeNavigationException If the unseen value resolver cannot if required provide an alternative value
+     */
+    @Override
+    public Node nextNode(String attributeValue, Consumer<String> logger) throws TreeNavigationException
+    {
+        Node child = getChild(attributeValue);
+        return child != null ? child : super.nextNode(attributeValue, logger);
+    }
+
+    /**
+     * @param attributeValue Value of the attribute
+     * @return The child node on the side of the threshold the value falls, or null if the value is not a number
+     */
+    @Override
+    public Node getChild(String attributeValue)
+    {
+        double value = parse(attributeValue);
+
+        return Double.isNaN(value) ? null : children.get(value <= threshold ? lowerKey : upperKey);
+    }
+
+    /**
+     * @param attributeValue Value of a numeric attribute
+     * @return The value as a number, or NaN if it is not a number
+     */
+    public static double parse(String attributeValue)
+    {
+        if (attributeValue == null)
+        {
+            return Double.NaN;
+        }
+
+        try
+        {
+            return Double.parseDouble(attributeValue);
+        }
+        catch (NumberFormatException numberFormatException)
+        {
+            return Double.NaN;
+        }
+    }
+}
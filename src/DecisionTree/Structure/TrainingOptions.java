@@ -0,0 +1,292 @@
+package DecisionTree.Structure;
+
+import java.util.Set;
+
+/**
+ * Options controlling how a decision tree is trained.
+ * The defaults train sequentially on the calling thread.
+ */
+public class TrainingOptions
+{
+    private int parallelism = 1;
+    private int parallelThreshold = 10000;
+    private int parallelGainThreshold = 100000;
+    private int attributeSampleSize = 0;
+    private long seed = 0;
+    private Set<String> numericAttributes = Set.of();
+    private int histogramBins = 0;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int minRows = 1;
+    private double minGain = 0;
+    private int maxNodes = Integer.MAX_VALUE;
+
+    /**
+     * Creates new training options with the defaults.
+     */
+    public TrainingOptions()
+    {
+    }
+
+    /**
+     * Creates a copy of the given training options, such as a template adjusted for each tree of a forest.
+     *
+     * @param options The options to copy
+     */
+    public TrainingOptions(TrainingOptions options)
+    {
+        this.parallelism = options.parallelism;
+        this.parallelThreshold = options.parallelThreshold;
+        this.parallelGainThreshold = options.parallelGainThreshold;
+        this.attributeSampleSize = options.attributeSampleSize;
+        this.seed = options.seed;
+        this.numericAttributes = options.numericAttributes;
+        this.histogramBins = options.histogramBins;
+        this.maxDepth = options.maxDepth;
+        this.minRows = options.minRows;
+        this.minGain = options.minGain;
+        this.maxNodes = options.maxNodes;
+    }
+
+    /**
+     * @return The number of threads used to build the tree
+     */
+    public int getParallelism()
+    {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of threads used to build the tree. Independent subtrees are built concurrently in a fork-join
+     * pool of this size, and a value of 1 builds the tree sequentially on the calling thread.
+     *
+     * @param parallelism Number of threads, at least 1
+     */
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism < 1)
+        {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return The number of training rows below which a subtree is built sequentially
+     */
+    public int getParallelThreshold()
+    {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets the number of training rows below which a subtree is built sequentially rather than as a separate task.
+     *
+     * @param parallelThreshold Number of training rows
+     */
+    public void setParallelThreshold(int parallelThreshold)
+    {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * @return The number of training rows at a node below which the attributes are scored sequentially
+     */
+    public int getParallelGainThreshold()
+    {
+        return parallelGainThreshold;
+    }
+
+    /**
+     * Sets the number of training rows at a node from which the candidate attributes are scored concurrently, rather
+     * than one after another. The chosen attribute is the same either way.
+     *
+     * @param parallelGainThreshold Number of training rows
+     */
+    public void setParallelGainThreshold(int parallelGainThreshold)
+    {
+        this.parallelGainThreshold = parallelGainThreshold;
+    }
+
+    /**
+     * @return The number of attributes randomly chosen as candidates at each node, or 0 if every available attribute is a candidate
+     */
+    public int getAttributeSampleSize()
+    {
+        return attributeSampleSize;
+    }
+
+    /**
+     * Sets the number of available attributes randomly chosen as the candidates to split on at each node, as in a
+     * random forest. The choice at each node depends only on the seed and the position of the node, so the same tree is
+     * built sequentially or in parallel.
+     *
+     * @param attributeSampleSize Number of attributes, or 0 for every available attribute
+     */
+    public void setAttributeSampleSize(int attributeSampleSize)
+    {
+        if (attributeSampleSize < 0)
+        {
+            throw new IllegalArgumentException("Attribute sample size must not be negative");
+        }
+
+        this.attributeSampleSize = attributeSampleSize;
+    }
+
+    /**
+     * @return The seed of the random choice of candidate attributes
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * @param seed The seed of the random choice of candidate attributes
+     */
+    public void setSeed(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * @return The attributes whose values are numbers split at a threshold
+     */
+    public Set<String> getNumericAttributes()
+    {
+        return numericAttributes;
+    }
+
+    /**
+     * Sets the attributes whose values are numbers, which are split into the values at or below a threshold and those
+     * above it rather than into one child per value. Every value of a numeric attribute in the training data must be a number.
+     *
+     * @param numericAttributes The attribute names
+     */
+    public void setNumericAttributes(Set<String> numericAttributes)
+    {
+        this.numericAttributes = Set.copyOf(numericAttributes);
+    }
+
+    /**
+     * @return The number of quantile bins numeric attributes are reduced to before training, or 0 to train on every value
+     */
+    public int getHistogramBins()
+    {
+        return histogramBins;
+    }
+
+    /**
+     * Sets histogram mode, in which each numeric attribute with more distinct values than bins is quantile binned before
+     * training, so that every node sweeps a small histogram of bins rather than every distinct value. The thresholds
+     * are then limited to the highest value of each bin.
+     *
+     * @param histogramBins Number of bins between 2 and 256, or 0 to train on every value
+     */
+    public void setHistogramBins(int histogramBins)
+    {
+        if (histogramBins != 0 && (histogramBins < 2 || histogramBins > 256))
+        {
+            throw new IllegalArgumentException("Histogram bins must be 0 or between 2 and 256");
+        }
+
+        this.histogramBins = histogramBins;
+    }
+
+    /**
+     * @return The depth below which nodes are not split
+     */
+    public int getMaxDepth()
+    {
+        return maxDepth;
+    }
+
+    /**
+     * Sets the maximum depth of the tree, at which nodes become leaves rather than being split further.
+     *
+     * @param maxDepth Depth of the deepest leaves, 0 for a tree of a single leaf
+     */
+    public void setMaxDepth(int maxDepth)
+    {
+        if (maxDepth < 0)
+        {
+            throw new IllegalArgumentException("Maximum depth must not be negative");
+        }
+
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return The number of training samples a node needs to be split
+     */
+    public int getMinRows()
+    {
+        return minRows;
+    }
+
+    /**
+     * Sets the number of training samples a node needs to be split, counted by weight. Nodes with fewer samples become leaves.
+     *
+     * @param minRows Number of training samples, at least 1
+     */
+    public void setMinRows(int minRows)
+    {
+        if (minRows < 1)
+        {
+            throw new IllegalArgumentException("Minimum rows must be at least 1");
+        }
+
+        this.minRows = minRows;
+    }
+
+    /**
+     * @return The information gain a node needs to be split
+     */
+    public double getMinGain()
+    {
+        return minGain;
+    }
+
+    /**
+     * Sets the information gain the best attribute of a node needs for the node to be split. Nodes with a lower best gain become leaves.
+     *
+     * @param minGain Information gain
+     */
+    public void setMinGain(double minGain)
+    {
+        this.minGain = minGain;
+    }
+
+    /**
+     * @return The maximum number of nodes in the tree
+     */
+    public int getMaxNodes()
+    {
+        return maxNodes;
+    }
+
+    /**
+     * Sets the maximum number of nodes in the tree. Nodes are split in depth first order until a split would exceed the
+     * maximum, after which the remaining nodes become leaves. Subtrees are built on the calling thread when the number
+     * of nodes is limited.
+     *
+     * @param maxNodes Number of nodes, at least 1
+     */
+    public void setMaxNodes(int maxNodes)
+    {
+        if (maxNodes < 1)
+        {
+            throw new IllegalArgumentException("Maximum nodes must be at least 1");
+        }
+
+        this.maxNodes = maxNodes;
+    }
+
+    /**
+     * @return True if the tree is built with more than one thread
+     */
+    boolean isParallel()
+    {
+        return parallelism > 1;
+    }
+}
@@ -1,27 +1,24 @@
 package DecisionTree.Structure;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 import DecisionTree.AllAttributesUsedResolvers.IResolveAllAttributesUsed;
+import DecisionTree.Data.ColumnarDataSet;
 import DecisionTree.Data.IData;
 import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
 
 /**
  * Represents a decision tree constructed using the ID3 algorithm
+ * A tree is immutable once constructed, with all its nodes frozen, and is safe to classify from concurrently.
  */
 public class Tree
 {
     private final Node root;
-    private final List<String> attributes;
-    private final Consumer<String> logger;
-    private final IResolveAllAttributesUsed allAttributesUsedResolver;
-    private final IResolveUnseenValue unseenValuesResolver;
+    private final Node[] nodes;
 
     /**
      * Trains a new decision tree on the given training data.
@@ -35,157 +32,142 @@ public class Tree
     public Tree(List<? extends IData> trainingData, List<String> attributes, IResolveAllAttributesUsed allAttributesUsedResolver,
                 IResolveUnseenValue unseenValuesResolver, Consumer<String> logger)
     {
-        this.logger = logger;
-        this.attributes = attributes;
-        this.allAttributesUsedResolver = allAttributesUsedResolver;
-        this.unseenValuesResolver = unseenValuesResolver;
-
-        root = createTree(trainingData, new HashSet<String>(), 0);
+        this(trainingData, attributes, allAttributesUsedResolver, unseenValuesResolver, logger, new TrainingOptions());
     }
 
     /**
-     * @return The root node of this decision tree
-     */
-    public Node getRoot()
+     * Trains a new decision tree on the given training data with the given training options.
+     *
+     * @trainingData The training data
+     * @attributes List of attribute names
+     * @allAttributesUsedResolver Resolver for inconsistent classes in training examples, must be thread safe if training in parallel
+     * @unseenAttributeResolver Resolver for classifying values not seen in training examples
+     * @logger Receives log messages detailing the construction of the decision tree, may be null if no logging is required
+     * @options Training options
+     **/
+    public Tree(List<? extends IData> trainingData, List<String> attributes, IResolveAllAttributesUsed allAttributesUsedResolver,
+                IResolveUnseenValue unseenValuesResolver, Consumer<String> logger, TrainingOptions options)
     {
-        return root;
+        this(new ColumnarDataSet(trainingData, attributes), allAttributesUsedResolver, unseenValuesResolver, logger, options);
     }
 
     /**
-     * Recursively creates the decision tree by the ID3 algorithm.
+     * Trains a new decision tree on the given columnar training data.
      *
-     * @param dataSet        The training set
-     * @param usedAttributes List of attributes that have been previously used prior to this node in the tree
-     * @param depth          Depth of the node within the tree
-     * @return The root node of the tree
-     */
-    private Node createTree(List<? extends IData> dataSet, HashSet<String> usedAttributes, int depth)
+     * @trainingData The training data
+     * @allAttributesUsedResolver Resolver for inconsistent classes in training examples
+     * @unseenAttributeResolver Resolver for classifying values not seen in training examples
+     * @logger Receives log messages detailing the construction of the decision tree, may be null if no logging is required
+     **/
+    public Tree(ColumnarDataSet trainingData, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                Consumer<String> logger)
     {
-        if (allSameClass(dataSet))
-        {
-            String sameClass = dataSet.get(0).assignedClass();
-            log("All remaining samples in same class", depth * 3);
-            return new LeafNode(sameClass, "All remaining samples in same class", dataSet.size());
-        }
-        else if (usedAllAttributes(usedAttributes))
-        {
-            String resolvedClass = allAttributesUsedResolver.getClass(dataSet);
-            log("All attributes used, assigning the following class: " + resolvedClass, depth * 3);
-            return new LeafNode(resolvedClass, "All attributes used, assigning the following class: ", dataSet.size());
-        }
-        else
-        {
-            HashMap<String, Double> gains = computeAttributeGains(dataSet, attributes.stream().filter(attribute -> !usedAttributes.contains(attribute)).collect(Collectors.toList()));
-
-            // Sort by highest gain, then by alphabetical attribute name
-            String bestAttribute = gains.entrySet().stream().max(Comparator.comparing(Entry<String, Double>::getValue).thenComparing(Entry::getKey, Comparator.reverseOrder())).get().getKey();
-
-            DecisionNode node = new DecisionNode(bestAttribute, unseenValuesResolver, gains.get(bestAttribute), dataSet.size());
-            usedAttributes.add(bestAttribute);
-
-            log(bestAttribute + " is the best attribute", depth * 3);
-
-            for (var subset : dataSet.stream().collect(Collectors.groupingBy(dataPoint -> dataPoint.getAttributeValue(bestAttribute))).entrySet())
-            {
-                log("| " + subset.getKey(), depth * 3);
-
-                HashSet<String> copyOfUsedAttributes = new HashSet<>(usedAttributes);
-                node.addChild(subset.getKey(), createTree(subset.getValue(), copyOfUsedAttributes, depth + 1));
-            }
-
-            return node;
-        }
+        this(trainingData, allAttributesUsedResolver, unseenValuesResolver, logger, new TrainingOptions());
     }
 
     /**
-     * Computes the information gain for all the available attributes.
+     * Trains a new decision tree on the given columnar training data with the given training options.
      *
-     * @param dataSet             The target data set
-     * @param availableAttributes List of available attributes
-     * @return Map listing each attribute and the information gain it provides by splitting the data set on this attribute
-     */
-    private HashMap<String, Double> computeAttributeGains(List<? extends IData> dataSet, List<String> availableAttributes)
+     * @trainingData The training data
+     * @allAttributesUsedResolver Resolver for inconsistent classes in training examples, must be thread safe if training in parallel
+     * @unseenAttributeResolver Resolver for classifying values not seen in training examples
+     * @logger Receives log messages detailing the construction of the decision tree, may be null if no logging is required
+     * @options Training options
+     **/
+    public Tree(ColumnarDataSet trainingData, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                Consumer<String> logger, TrainingOptions options)
     {
-        HashMap<String, Double> attributeGains = new HashMap<>();
-        availableAttributes.forEach(attribute -> attributeGains.put(attribute, gain(dataSet, attribute)));
-        return attributeGains;
+        root = new TreeBuilder(trainingData, allAttributesUsedResolver, unseenValuesResolver, logger, options).build();
+        nodes = numberNodes(root);
     }
 
     /**
-     * Returns the information gain by spitting the given data set on the given attribute.
+     * Trains a new decision tree on a sample of the rows of the given columnar training data, such as a bootstrap sample.
      *
-     * @param dataSet   The target data set
-     * @param attribute The attribute to split on
-     * @return The information gain
-     */
-    private double gain(List<? extends IData> dataSet, String attribute)
+     * @trainingData The training data
+     * @rows The rows of the training data to train on, a row may appear more than once
+     * @allAttributesUsedResolver Resolver for inconsistent classes in training examples, must be thread safe if training in parallel
+     * @unseenAttributeResolver Resolver for classifying values not seen in training examples
+     * @logger Receives log messages detailing the construction of the decision tree, may be null if no logging is required
+     * @options Training options
+     **/
+    public Tree(ColumnarDataSet trainingData, int[] rows, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                Consumer<String> logger, TrainingOptions options)
     {
-        double totalEntropy = 0;
-
-        for (var subSet : dataSet.stream().collect(Collectors.groupingBy(dataPoint -> dataPoint.getAttributeValue(attribute))).entrySet())
-        {
-            double proportion = (double) subSet.getValue().size() / dataSet.size();
-
-            totalEntropy += proportion * entropy(subSet.getValue());
-        }
-
-        return entropy(dataSet) - totalEntropy;
+        root = new TreeBuilder(trainingData, rows, allAttributesUsedResolver, unseenValuesResolver, logger, options).build();
+        nodes = numberNodes(root);
     }
 
     /**
-     * Returns the entropy in the given data set.
+     * Wraps the nodes of a previously trained decision tree, such as one loaded from a saved model.
      *
-     * @param dataSet The target data set
-     * @return The entropy
+     * @param root The root node of the tree
      */
-    private double entropy(List<? extends IData> dataSet)
+    public Tree(Node root)
     {
-        double entropy = 0;
-
-        for (var subset : dataSet.stream().collect(Collectors.groupingBy(dataPoint -> dataPoint.assignedClass())).entrySet())
-        {
-            double proportion = (double) subset.getValue().size() / dataSet.size();
-
-            entropy -= proportion * Math.log(proportion);
-        }
+        this.root = root;
+        this.nodes = numberNodes(root);
+    }
 
-        return entropy;
+    /**
+     * @return The root node of this decision tree
+     */
+    public Node getRoot()
+    {
+        return root;
     }
 
     /**
-     * Determines if all data points in the data set have the same assigned classification
-     *
-     * @param dataSet The target data set
-     * @return True if all data points in the data set have the same assigned classification
+     * @param id The id of a node of this tree
+     * @return The node
      */
-    private boolean allSameClass(List<? extends IData> dataSet)
+    public Node getNode(int id)
     {
-        return dataSet.stream().collect(Collectors.groupingBy(dataPoint -> dataPoint.assignedClass(), Collectors.counting())).size() == 1;
+        return nodes[id];
     }
 
     /**
-     * Determines if all attributes have been used.
-     *
-     * @param usedAttributes Set of used attributes
-     * @return True if all attributes have been used
+     * @return The number of nodes in this tree
      */
-    private boolean usedAllAttributes(HashSet<String> usedAttributes)
+    public int getNodeCount()
     {
-        return usedAttributes.size() == attributes.size();
+        return nodes.length;
     }
 
     /**
-     * Adds a message to the tree construction log.
+     * Numbers the nodes of the tree in depth first order, with children visited in order of their attribute value, and
+     * freezes each node so the tree can be shared between threads.
      *
-     * @param message Message text
-     * @param depth   Indention depth
+     * @param root The root node of the tree
+     * @return The nodes, indexed by id
      */
-    private void log(String message, int depth)
+    private static Node[] numberNodes(Node root)
     {
-        if (logger != null)
+        ArrayList<Node> nodes = new ArrayList<>();
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+
+        while (!pending.isEmpty())
         {
-            logger.accept(" ".repeat(depth) + message);
+            Node node = pending.pop();
+            node.freeze(nodes.size());
+            nodes.add(node);
+
+            if (node instanceof DecisionNode)
+            {
+                ArrayList<Node> children = new ArrayList<>();
+                for (Entry<String, Node> child : ((DecisionNode) node).getChildren())
+                {
+                    children.add(child.getValue());
+                }
+
+                for (int index = children.size() - 1; index >= 0; index--)
+                {
+                    pending.push(children.get(index));
+                }
+            }
         }
-    }
 
+        return nodes.toArray(new Node[0]);
+    }
 }
@@ -0,0 +1,675 @@
+package DecisionTree.Structure;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+import DecisionTree.AllAttributesUsedResolvers.IResolveAllAttributesUsed;
+import DecisionTree.Data.CodedColumn;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+
+/**
+ * Builds the nodes of a decision tree from a columnar data set by the ID3 algorithm.
+ * In parallel mode large subtrees are built as fork-join tasks, each logging to its own buffer which is replayed in
+ * order once the task is joined, so the resulting tree and log are identical to those of a sequential build.
+ * In histogram mode the numeric attributes are quantile binned before training, unless the data set was already binned,
+ * and the counts of the largest child of each node are found by subtracting the counts of its siblings from those of
+ * the node rather than by counting its rows. Each child counts its attributes only when it splits, the largest child
+ * counting any sibling that has not, and the largest child is built after its siblings in parallel mode.
+ * Nodes that meet a stopping criterion of the training options become leaves whose class is chosen by the all
+ * attributes used resolver. A limit on the number of nodes is applied in depth first order, so subtrees are then built
+ * on the calling thread to keep the tree independent of scheduling.
+ */
+class TreeBuilder
+{
+    private final ColumnarDataSet dataSet;
+    private final Consumer<String> logger;
+    private final IResolveAllAttributesUsed allAttributesUsedResolver;
+    private final IResolveUnseenValue unseenValuesResolver;
+    private final TrainingOptions options;
+    private final int[] rows;
+    private final NumericRanking[] numericRankings;
+    private int nodeCount = 1;
+
+    /**
+     * @param dataSet                   The training data
+     * @param allAttributesUsedResolver Resolver for inconsistent classes in training examples
+     * @param unseenValuesResolver      Resolver for classifying values not seen in training examples
+     * @param logger                    Receives log messages detailing the construction of the decision tree, may be null
+     * @param options                   Training options
+     */
+    TreeBuilder(ColumnarDataSet dataSet, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver, Consumer<String> logger,
+                TrainingOptions options)
+    {
+        this(dataSet, null, allAttributesUsedResolver, unseenValuesResolver, logger, options);
+    }
+
+    /**
+     * @param dataSet                   The training data
+     * @param rows                      The rows of the data set to train on, which may repeat, or null for every row
+     * @param allAttributesUsedResolver Resolver for inconsistent classes in training examples
+     * @param unseenValuesResolver      Resolver for classifying values not seen in training examples
+     * @param logger                    Receives log messages detailing the construction of the decision tree, may be null
+     * @param options                   Training options
+     */
+    TreeBuilder(ColumnarDataSet dataSet, int[] rows, IResolveAllAttributesUsed allAttributesUsedResolver, IResolveUnseenValue unseenValuesResolver,
+                Consumer<String> logger, TrainingOptions options)
+    {
+        this.dataSet = options.getHistogramBins() > 0 ? dataSet.binned(options.getNumericAttributes(), options.getHistogramBins()) : dataSet;
+        this.logger = logger;
+        this.allAttributesUsedResolver = allAttributesUsedResolver;
+        this.unseenValuesResolver = unseenValuesResolver;
+        this.options = options;
+
+        if (rows == null)
+        {
+            this.rows = new int[this.dataSet.size()];
+            for (int row = 0; row < this.rows.length; row++)
+            {
+                this.rows[row] = row;
+            }
+        }
+        else
+        {
+            this.rows = rows.clone();
+        }
+
+        this.numericRankings = new NumericRanking[this.dataSet.getAttributes().size()];
+        for (String numericAttribute : options.getNumericAttributes())
+        {
+            int attributeIndex = this.dataSet.getAttributeIndex(numericAttribute);
+
+            if (attributeIndex >= 0)
+            {
+                numericRankings[attributeIndex] = new NumericRanking(this.dataSet, attributeIndex);
+            }
+        }
+    }
+
+    /**
+     * Builds the decision tree over the training rows of the data set.
+     *
+     * @return The root node of the tree
+     */
+    Node build()
+    {
+        boolean[] usedAttributes = new boolean[dataSet.getAttributes().size()];
+
+        if (!options.isParallel())
+        {
+            return createTree(0, rows.length, null, usedAttributes, 0, logger);
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+        try
+        {
+            return pool.invoke(ForkJoinTask.adapt(() -> createTree(0, rows.length, null, usedAttributes, 0, logger)));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Recursively creates the decision tree by the ID3 algorithm, splitting numeric attributes at the threshold with the
+     * highest gain. Numeric attributes remain available below a node that splits on them.
+     * The rows of the training set at this node occupy a range of the shared row array, which is partitioned in place
+     * into one contiguous range per child.
+     *
+     * @param from             Position of the first row of the training set in the row array
+     * @param to               Position after the last row of the training set in the row array
+     * @param contingencyTable Counts of the training set already made by the parent node, or null to count them here
+     * @param usedAttributes   Flags the attributes that have been previously used prior to this node in the tree
+     * @param depth            Depth of the node within the tree
+     * @param log              Receives the log messages of this subtree, may be null if no logging is required
+     * @return The root node of the tree
+     */
+    private Node createTree(int from, int to, ContingencyTable contingencyTable, boolean[] usedAttributes, int depth, Consumer<String> log)
+    {
+        int[] availableAttributes = availableAttributes(usedAttributes);
+
+        if (contingencyTable == null)
+        {
+            contingencyTable = new ContingencyTable(dataSet, rows, from, to);
+        }
+
+        if (contingencyTable.allSameClass())
+        {
+            String sameClass = dataSet.getClassName(contingencyTable.anyClass());
+            log("All remaining samples in same class", depth * 3, log);
+            LeafNode leaf = new LeafNode(sameClass, "All remaining samples in same class", contingencyTable.size());
+            leaf.setClassCounts(contingencyTable.classCounts());
+            return leaf;
+        }
+        else if (depth >= options.getMaxDepth())
+        {
+            return resolvedLeaf("Maximum depth reached, assigning the following class: ", from, to, contingencyTable, depth, log);
+        }
+        else if (contingencyTable.size() < options.getMinRows())
+        {
+            return resolvedLeaf("Too few samples to split, assigning the following class: ", from, to, contingencyTable, depth, log);
+        }
+
+        int[] candidateAttributes = availableAttributes.length == 0 ? availableAttributes : candidateAttributes(availableAttributes, from, to, depth);
+        int[] thresholds = new int[candidateAttributes.length];
+        double[] gains = computeAttributeGains(contingencyTable, candidateAttributes, thresholds);
+        contingencyTable.release();
+        int bestCandidate = -1;
+
+        // Highest gain, then by alphabetical attribute name
+        for (int candidate = 0; candidate < candidateAttributes.length; candidate++)
+        {
+            if (gains[candidate] > Double.NEGATIVE_INFINITY && (bestCandidate < 0 || gains[candidate] > gains[bestCandidate]
+                    || (gains[candidate] == gains[bestCandidate] && attributeName(candidateAttributes[candidate]).compareTo(attributeName(candidateAttributes[bestCandidate])) < 0)))
+            {
+                bestCandidate = candidate;
+            }
+        }
+
+        if (bestCandidate < 0)
+        {
+            return resolvedLeaf("All attributes used, assigning the following class: ", from, to, contingencyTable, depth, log);
+        }
+        else if (gains[bestCandidate] < options.getMinGain())
+        {
+            return resolvedLeaf("Gain below minimum, assigning the following class: ", from, to, contingencyTable, depth, log);
+        }
+
+        int bestAttribute = candidateAttributes[bestCandidate];
+        String bestAttributeName = attributeName(bestAttribute);
+        NumericRanking ranking = numericRankings[bestAttribute];
+
+        if (limitsNodes())
+        {
+            int childCount = ranking != null ? 2 : contingencyTable.valueCount(bestAttribute);
+
+            if (nodeCount + childCount > options.getMaxNodes())
+            {
+                return resolvedLeaf("Maximum nodes reached, assigning the following class: ", from, to, contingencyTable, depth, log);
+            }
+
+            nodeCount += childCount;
+        }
+        DecisionNode node;
+        int[] groupOfCode;
+        String[] childKeys;
+
+        if (ranking == null)
+        {
+            node = new DecisionNode(bestAttributeName, unseenValuesResolver, gains[bestCandidate], contingencyTable.size());
+            usedAttributes[bestAttribute] = true;
+            groupOfCode = null;
+            childKeys = new String[dataSet.getCardinality(bestAttribute)];
+
+            for (int code = 0; code < childKeys.length; code++)
+            {
+                childKeys[code] = dataSet.getValue(bestAttribute, code);
+            }
+        }
+        else
+        {
+            ThresholdNode thresholdNode = new ThresholdNode(bestAttributeName, unseenValuesResolver, gains[bestCandidate], contingencyTable.size(),
+                    dataSet.getValue(bestAttribute, ranking.codeAt(thresholds[bestCandidate])));
+            node = thresholdNode;
+            groupOfCode = new int[ranking.size()];
+            childKeys = new String[] { thresholdNode.lowerKey(), thresholdNode.upperKey() };
+
+            for (int code = 0; code < groupOfCode.length; code++)
+            {
+                groupOfCode[code] = ranking.rankOf(code) <= thresholds[bestCandidate] ? 0 : 1;
+            }
+        }
+
+        node.setClassCounts(contingencyTable.classCounts());
+        log(bestAttributeName + " is the best attribute", depth * 3, log);
+
+        int[] boundaries = partition(from, to, bestAttribute, contingencyTable, groupOfCode, childKeys.length);
+        ContingencyTable[] childTables = new ContingencyTable[childKeys.length];
+        int derivedChild = options.getHistogramBins() > 0 && options.getAttributeSampleSize() == 0 ? childTables(contingencyTable, boundaries, childTables) : -1;
+
+        if (options.isParallel() && !limitsNodes() && largestRange(boundaries) >= options.getParallelThreshold())
+        {
+            addChildrenInParallel(node, boundaries, childKeys, childTables, derivedChild, usedAttributes, depth, log);
+        }
+        else
+        {
+            for (int group = 0; group < boundaries.length - 1; group++)
+            {
+                if (boundaries[group] < boundaries[group + 1])
+                {
+                    log("| " + childKeys[group], depth * 3, log);
+
+                    node.addChild(childKeys[group], createTree(boundaries[group], boundaries[group + 1], childTables[group], usedAttributes.clone(), depth + 1, log));
+                    childTables[group] = null;
+                }
+            }
+        }
+
+        return node;
+    }
+
+    /**
+     * Computes the information gain for all the available attributes. In parallel mode the attributes of a node with at
+     * least the parallel gain threshold of rows are counted and scored as separate fork-join tasks.
+     *
+     * @param contingencyTable    Class counts of the rows at the node
+     * @param availableAttributes The attributes to score
+     * @param thresholds          Receives the rank of the best threshold of each numeric attribute, in the same order
+     * @return The information gain of each available attribute in the same order, negative infinity where the rows cannot be split
+     */
+    private double[] computeAttributeGains(ContingencyTable contingencyTable, int[] availableAttributes, int[] thresholds)
+    {
+        double entropy = contingencyTable.entropy();
+        double[] gains = new double[availableAttributes.length];
+
+        if (options.isParallel() && availableAttributes.length > 1 && contingencyTable.rowCount() >= options.getParallelGainThreshold())
+        {
+            ArrayList<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+            for (int available = 0; available < availableAttributes.length; available++)
+            {
+                int index = available;
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    gains[index] = attributeGain(contingencyTable, availableAttributes[index], entropy, thresholds, index);
+                }));
+            }
+
+            ForkJoinTask.invokeAll(tasks);
+        }
+        else
+        {
+            for (int available = 0; available < availableAttributes.length; available++)
+            {
+                gains[available] = attributeGain(contingencyTable, availableAttributes[available], entropy, thresholds, available);
+            }
+        }
+
+        return gains;
+    }
+
+    /**
+     * Creates a leaf for rows that are not split further, whose class is chosen by the all attributes used resolver.
+     *
+     * @param reason           The reason the rows are not split further
+     * @param from             Position of the first row of the leaf in the row array
+     * @param to               Position after the last row of the leaf in the row array
+     * @param contingencyTable Class counts of the rows
+     * @param depth            Depth of the leaf within the tree
+     * @param log              Receives the log messages of the leaf, may be null if no logging is required
+     * @return The leaf
+     */
+    private Node resolvedLeaf(String reason, int from, int to, ContingencyTable contingencyTable, int depth, Consumer<String> log)
+    {
+        String resolvedClass = allAttributesUsedResolver.getClass(dataSet.getRows(rows, from, to));
+        log(reason + resolvedClass, depth * 3, log);
+        LeafNode leaf = new LeafNode(resolvedClass, reason, contingencyTable.size());
+        leaf.setClassCounts(contingencyTable.classCounts());
+        return leaf;
+    }
+
+    /**
+     * @return True if the number of nodes is limited, which requires the subtrees to be built in depth first order
+     */
+    private boolean limitsNodes()
+    {
+        return options.getMaxNodes() < Integer.MAX_VALUE;
+    }
+
+    /**
+     * Counts the classes of the rows of each child of a node, except the largest child whose counts are derived from
+     * those of the node less those of its siblings. The attributes are counted later by each child that splits, or for
+     * the largest child by subtraction, counting any sibling that has not been counted.
+     *
+     * @param contingencyTable Counts of the rows at the node
+     * @param boundaries       The range of rows of each child
+     * @param childTables      Receives the counts of each child, null for a child without rows
+     * @return The position of the largest child, whose counts are derived from those of its siblings
+     */
+    private int childTables(ContingencyTable contingencyTable, int[] boundaries, ContingencyTable[] childTables)
+    {
+        int largest = 0;
+
+        for (int group = 1; group < childTables.length; group++)
+        {
+            if (boundaries[group + 1] - boundaries[group] > boundaries[largest + 1] - boundaries[largest])
+            {
+                largest = group;
+            }
+        }
+
+        ArrayList<ContingencyTable> siblings = new ArrayList<>();
+        for (int group = 0; group < childTables.length; group++)
+        {
+            if (group != largest && boundaries[group] < boundaries[group + 1])
+            {
+                childTables[group] = new ContingencyTable(dataSet, rows, boundaries[group], boundaries[group + 1]);
+                siblings.add(childTables[group]);
+            }
+        }
+
+        childTables[largest] = new ContingencyTable(contingencyTable, siblings, boundaries[largest], boundaries[largest + 1]);
+        return largest;
+    }
+
+    /**
+     * Counts an attribute and computes its information gain, at its best threshold if it is numeric.
+     *
+     * @param contingencyTable Class counts of the rows at the node
+     * @param attributeIndex   The attribute to score
+     * @param entropy          The entropy of the rows at the node
+     * @param thresholds       Receives the rank of the best threshold if the attribute is numeric
+     * @param slot             Position in the thresholds array to receive the rank
+     * @return The information gain, negative infinity if the rows cannot be split
+     */
+    private double attributeGain(ContingencyTable contingencyTable, int attributeIndex, double entropy, int[] thresholds, int slot)
+    {
+        if (!contingencyTable.isCounted(attributeIndex))
+        {
+            contingencyTable.countAttribute(attributeIndex);
+        }
+
+        if (numericRankings[attributeIndex] == null)
+        {
+            return contingencyTable.gain(attributeIndex, entropy);
+        }
+
+        return contingencyTable.thresholdGain(attributeIndex, numericRankings[attributeIndex], entropy, thresholds, slot);
+    }
+
+    /**
+     * Builds the children of a node, forking a task for each child with at least the parallel threshold of rows and
+     * building the remainder on the current thread. Each child logs to its own buffer, which is replayed in value order.
+     * A child whose counts are derived from those of its siblings is built once its siblings are joined, as it may count
+     * the siblings that have not counted themselves.
+     *
+     * @param node           The node to add the children to
+     * @param boundaries     The range of rows of each child
+     * @param childKeys      The key of each child
+     * @param childTables    Counts of the rows of each child already made, null where the child counts its own rows
+     * @param derivedChild   The position of the child whose counts are derived from those of its siblings, or -1 if none
+     * @param usedAttributes Flags the attributes that have been used up to and including this node
+     * @param depth          Depth of the node within the tree
+     * @param log            Receives the log messages of this subtree, may be null if no logging is required
+     */
+    private void addChildrenInParallel(DecisionNode node, int[] boundaries, String[] childKeys, ContingencyTable[] childTables, int derivedChild,
+                                       boolean[] usedAttributes, int depth, Consumer<String> log)
+    {
+        SubtreeTask[] tasks = new SubtreeTask[boundaries.length - 1];
+        Node[] children = new Node[tasks.length];
+
+        for (int code = 0; code < tasks.length; code++)
+        {
+            if (boundaries[code] < boundaries[code + 1])
+            {
+                tasks[code] = new SubtreeTask(boundaries[code], boundaries[code + 1], childTables[code], usedAttributes.clone(), depth + 1, log == null ? null : new ArrayList<>());
+
+                if (code != derivedChild && boundaries[code + 1] - boundaries[code] >= options.getParallelThreshold())
+                {
+                    tasks[code].fork();
+                }
+            }
+        }
+
+        for (int code = 0; code < tasks.length; code++)
+        {
+            if (tasks[code] != null && code != derivedChild && boundaries[code + 1] - boundaries[code] < options.getParallelThreshold())
+            {
+                children[code] = tasks[code].invoke();
+            }
+        }
+
+        if (derivedChild >= 0)
+        {
+            for (int code = 0; code < tasks.length; code++)
+            {
+                if (tasks[code] != null && code != derivedChild && children[code] == null)
+                {
+                    children[code] = tasks[code].join();
+                }
+            }
+
+            children[derivedChild] = tasks[derivedChild].invoke();
+        }
+
+        for (int code = 0; code < tasks.length; code++)
+        {
+            if (tasks[code] != null)
+            {
+                if (children[code] == null)
+                {
+                    children[code] = tasks[code].join();
+                }
+
+                log("| " + childKeys[code], depth * 3, log);
+                tasks[code].replayLog(log);
+
+                node.addChild(childKeys[code], children[code]);
+            }
+        }
+    }
+
+    /**
+     * @param boundaries The range of rows holding each coded value
+     * @return The number of rows in the largest range
+     */
+    private int largestRange(int[] boundaries)
+    {
+        int largest = 0;
+        for (int code = 0; code < boundaries.length - 1; code++)
+        {
+            largest = Math.max(largest, boundaries[code + 1] - boundaries[code]);
+        }
+
+        return largest;
+    }
+
+    /**
+     * Partitions a range of the row array in place by the value of the given attribute, so that the rows of each group
+     * of values occupy a contiguous range in order of the groups.
+     *
+     * @param from             Position of the first row to partition
+     * @param to               Position after the last row to partition
+     * @param attributeIndex   The attribute to partition on
+     * @param contingencyTable Class counts of the rows, whose value counts give the number of rows of each value if the data set is not weighted
+     * @param groupOfCode      The group of each coded value, or null for a group per value
+     * @param groupCount       The number of groups
+     * @return The start position of the rows of each group, followed by the end position of the last group
+     */
+    private int[] partition(int from, int to, int attributeIndex, ContingencyTable contingencyTable, int[] groupOfCode, int groupCount)
+    {
+        CodedColumn column = dataSet.getColumn(attributeIndex);
+        int cardinality = dataSet.getCardinality(attributeIndex);
+        int[] boundaries = new int[groupCount + 1];
+        int[] next = new int[groupCount];
+        int[] rowCounts = new int[groupCount];
+
+        // The counts of a weighted data set are weights rather than rows, so the rows of each value are counted separately
+        if (dataSet.isWeighted())
+        {
+            for (int index = from; index < to; index++)
+            {
+                int code = column.get(rows[index]);
+                rowCounts[groupOfCode == null ? code : groupOfCode[code]]++;
+            }
+        }
+        else
+        {
+            for (int code = 0; code < cardinality; code++)
+            {
+                rowCounts[groupOfCode == null ? code : groupOfCode[code]] += contingencyTable.valueCount(attributeIndex, code);
+            }
+        }
+
+        boundaries[0] = from;
+        for (int group = 0; group < groupCount; group++)
+        {
+            boundaries[group + 1] = boundaries[group] + rowCounts[group];
+            next[group] = boundaries[group];
+        }
+
+        // Swap each misplaced row into the range of its group until every range holds only its own group
+        for (int group = 0; group < groupCount; group++)
+        {
+            while (next[group] < boundaries[group + 1])
+            {
+                int row = rows[next[group]];
+                int code = column.get(row);
+                int rowGroup = groupOfCode == null ? code : groupOfCode[code];
+
+                if (rowGroup == group)
+                {
+                    next[group]++;
+                }
+                else
+                {
+                    rows[next[group]] = rows[next[rowGroup]];
+                    rows[next[rowGroup]++] = row;
+                }
+            }
+        }
+
+        return boundaries;
+    }
+
+    /**
+     * @param usedAttributes Flags the attributes that have been previously used
+     * @return The indices of the attributes that have not been used
+     */
+    private int[] availableAttributes(boolean[] usedAttributes)
+    {
+        int availableCount = 0;
+        for (boolean used : usedAttributes)
+        {
+            availableCount += used ? 0 : 1;
+        }
+
+        int[] availableAttributes = new int[availableCount];
+        for (int attributeIndex = 0, next = 0; attributeIndex < usedAttributes.length; attributeIndex++)
+        {
+            if (!usedAttributes[attributeIndex])
+            {
+                availableAttributes[next++] = attributeIndex;
+            }
+        }
+
+        return availableAttributes;
+    }
+
+    /**
+     * Randomly chooses the candidate attributes to split a node on when an attribute sample size is set. The choice is
+     * seeded from the training seed and the position of the node, so it does not depend on the order nodes are built in.
+     *
+     * @param availableAttributes The attributes that have not been used
+     * @param from                Position of the first row of the node in the row array
+     * @param to                  Position after the last row of the node in the row array
+     * @param depth               Depth of the node within the tree
+     * @return The candidate attributes in attribute order
+     */
+    private int[] candidateAttributes(int[] availableAttributes, int from, int to, int depth)
+    {
+        int sampleSize = options.getAttributeSampleSize();
+
+        if (sampleSize == 0 || sampleSize >= availableAttributes.length)
+        {
+            return availableAttributes;
+        }
+
+        SplittableRandom random = new SplittableRandom(options.getSeed() ^ ((long) from << 32 | to) * 0x9E3779B97F4A7C15L ^ depth);
+        int[] shuffled = availableAttributes.clone();
+
+        // Partial Fisher-Yates shuffle choosing the first sample size attributes
+        for (int index = 0; index < sampleSize; index++)
+        {
+            int swap = index + random.nextInt(shuffled.length - index);
+            int attributeIndex = shuffled[swap];
+            shuffled[swap] = shuffled[index];
+            shuffled[index] = attributeIndex;
+        }
+
+        int[] candidateAttributes = Arrays.copyOf(shuffled, sampleSize);
+        Arrays.sort(candidateAttributes);
+        return candidateAttributes;
+    }
+
+    /**
+     * @param attributeIndex Position of the attribute in the attribute list
+     * @return The name of the attribute
+     */
+    private String attributeName(int attributeIndex)
+    {
+        return dataSet.getAttributes().get(attributeIndex);
+    }
+
+    /**
+     * Adds a message to the tree construction log.
+     *
+     * @param message Message text
+     * @param depth   Indention depth
+     * @param log     Receives the message, may be null if no logging is required
+     */
+    private void log(String message, int depth, Consumer<String> log)
+    {
+        if (log != null)
+        {
+            log.accept(" ".repeat(depth) + message);
+        }
+    }
+
+    /**
+     * Builds a subtree as a fork-join task, buffering its log messages.
+     */
+    private class SubtreeTask extends RecursiveTask<Node>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final ContingencyTable contingencyTable;
+        private final boolean[] usedAttributes;
+        private final int depth;
+        private final ArrayList<String> logBuffer;
+
+        /**
+         * @param from             Position of the first row of the subtree in the row array
+         * @param to               Position after the last row of the subtree in the row array
+         * @param contingencyTable Counts of the rows of the subtree already made, or null to count them in the task
+         * @param usedAttributes   Flags the attributes that have been previously used
+         * @param depth            Depth of the subtree root within the tree
+         * @param logBuffer        Receives the log messages of the subtree, may be null if no logging is required
+         */
+        SubtreeTask(int from, int to, ContingencyTable contingencyTable, boolean[] usedAttributes, int depth, ArrayList<String> logBuffer)
+        {
+            this.from = from;
+            this.to = to;
+            this.contingencyTable = contingencyTable;
+            this.usedAttributes = usedAttributes;
+            this.depth = depth;
+            this.logBuffer = logBuffer;
+        }
+
+        @Override
+        protected Node compute()
+        {
+            return createTree(from, to, contingencyTable, usedAttributes, depth, logBuffer == null ? null : logBuffer::add);
+        }
+
+        /**
+         * Passes the buffered log messages of the subtree on in the order they were logged.
+         *
+         * @param log Receives the log messages, may be null if no logging is required
+         */
+        void replayLog(Consumer<String> log)
+        {
+            if (log != null && logBuffer != null)
+            {
+                logBuffer.forEach(log);
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package DecisionTree.UnseenValueResolvers;
 
+import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.function.Consumer;
 
@@ -9,9 +10,57 @@ import DecisionTree.Structure.TreeNavigationException;
 /**
  * Chooses the next node in the decision tree when the data includes a value not seen in the training data.
  * Resolve may throw a TreeNavigationException if no node is appropriate and the classification will immediately fail.
- * The logger should be called with an explanation as to how the unseen value has been resolved.
+ * The logger should be called with an explanation as to how the unseen value has been resolved, unless it is null.
+ * A trained tree calls the variant of resolve given the unmodifiable children of a node, which by default passes a copy
+ * of them to the original variant. As trees are classified from concurrently resolve must be thread safe. Logs that are only built when they are read call resolve again for the same value, so it
+ * must choose the same value and log the same messages each time.
  */
 public interface IResolveUnseenValue
 {
     String resolve(String targetAttribute, String attributeValue, TreeMap<String, Node> children, Consumer<String> logger) throws TreeNavigationException;
+
+    /**
+     * Chooses the value to substitute for an unseen value at a node of a trained tree, whose children cannot be modified.
+     * Resolvers that only read the children may override this to avoid copying them.
+     *
+     * @param targetAttribute The attribute being navigated
+     * @param attributeValue  The unseen value
+     * @param children        The unmodifiable children of the node
+     * @param logger          Receives the explanation of the substitution, may be null
+     * @return The value whose child node is followed
+     * @throws TreeNavigationException If no node is appropriate
+     */
+    default String resolve(String targetAttribute, String attributeValue, NavigableMap<String, Node> children, Consumer<String> logger) throws TreeNavigationException
+    {
+        return resolve(targetAttribute, attributeValue, new TreeMap<>(children), logger);
+    }
+
+    /**
+     * Chooses once, when the tree holding a node is constructed, the value to substitute for every unseen value at that
+     * node, so that navigation only reads the choice. Resolvers whose choice depends on the unseen value itself return
+     * null, and resolve is then called for each unseen value. Where a value is returned, resolve must return the same
+     * value for any unseen value, and log the description given by describeSubstitution.
+     *
+     * @param targetAttribute The attribute the node splits on
+     * @param children        The unmodifiable children of the node
+     * @return The value whose child node is followed for every unseen value, or null if it is chosen for each unseen value
+     */
+    default String prepare(String targetAttribute, NavigableMap<String, Node> children)
+    {
+        return null;
+    }
+
+    /**
+     * Describes the substitution of a value by the choice of prepare, for the log of a node that follows its prepared
+     * choice without calling resolve.
+     *
+     * @param targetAttribute  The attribute being navigated
+     * @param attributeValue   The unseen value
+     * @param substitutedValue The value chosen by resolve
+     * @return The log message explaining the substitution
+     */
+    default String describeSubstitution(String targetAttribute, String attributeValue, String substitutedValue)
+    {
+        return "Substituting " + substitutedValue + " for " + attributeValue;
+    }
 }
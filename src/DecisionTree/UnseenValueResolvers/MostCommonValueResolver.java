@@ -2,6 +2,7 @@ package DecisionTree.UnseenValueResolvers;
 
 import java.util.Comparator;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.function.Consumer;
 
@@ -15,15 +16,33 @@ public class MostCommonValueResolver implements IResolveUnseenValue
     @Override
     public String resolve(String targetAttribute, String attributeValue, TreeMap<String, Node> children, Consumer<String> logger)
     {
-        // Most common value seen in training data, then by alphabetical value in event of a tie
-        String mostCommonTrainingValue = children.entrySet().stream().max(Comparator.comparing((Entry<String, Node> entry) -> entry.getValue().getOccurrencesInDataSet())
-                .thenComparing(Entry::getKey, Comparator.reverseOrder())).get().getKey();
+        return resolve(targetAttribute, attributeValue, (NavigableMap<String, Node>) children, logger);
+    }
+
+    /**
+     * Reads the children without copying them.
+     */
+    @Override
+    public String resolve(String targetAttribute, String attributeValue, NavigableMap<String, Node> children, Consumer<String> logger)
+    {
+        String mostCommonTrainingValue = prepare(targetAttribute, children);
 
         if (logger != null)
         {
-            logger.accept("Substituting " + mostCommonTrainingValue + " for " + attributeValue);
+            logger.accept(describeSubstitution(targetAttribute, attributeValue, mostCommonTrainingValue));
         }
 
         return mostCommonTrainingValue;
     }
+
+    /**
+     * The most common value does not depend on the unseen value, so is chosen once per node.
+     */
+    @Override
+    public String prepare(String targetAttribute, NavigableMap<String, Node> children)
+    {
+        // Most common value seen in training data, then by alphabetical value in event of a tie
+        return children.entrySet().stream().max(Comparator.comparing((Entry<String, Node> entry) -> entry.getValue().getOccurrencesInDataSet())
+                .thenComparing(Entry::getKey, Comparator.reverseOrder())).get().getKey();
+    }
 }
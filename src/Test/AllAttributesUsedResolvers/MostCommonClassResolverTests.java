@@ -66,4 +66,17 @@ public class MostCommonClassResolverTests
         assertEquals("A", mcr.getClass(dataContext.getDataSet()));
     }
 
+    @DisplayName("it counts each data point by its weight")
+    @Test
+    void weighted() throws DataContextException
+    {
+        MostCommonClassResolver mcr = new MostCommonClassResolver();
+        CSVDataContext dataContext = new CSVDataContext("a1,a2,a3");
+        dataContext.addData("1,2,3", "A", 3);
+        dataContext.addData("1,2,3", "B");
+        dataContext.addData("1,2,3", "B");
+
+        assertEquals("A", mcr.getClass(dataContext.getDataSet()));
+    }
+
 }
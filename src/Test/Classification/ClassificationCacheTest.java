@@ -0,0 +1,170 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationCache;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.ModelHolder;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ClassificationCacheTest
+{
+    static CSVDataContext dataContext;
+    static DecisionTreeClassifier classifier;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        // The class depends on a1 and a2 only, so the tree never tests the noise attribute
+        Random random = new Random(5);
+        dataContext = new CSVDataContext("a1,a2,noise");
+
+        for (int i = 0; i < 1000; i++)
+        {
+            int a1 = random.nextInt(4), a2 = random.nextInt(3);
+            dataContext.addData(a1 + "," + a2 + ",x", (a1 + a2) % 3 == 0 ? "Yes" : "No");
+        }
+
+        classifier = new DecisionTreeClassifier(new Tree(dataContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+    }
+
+    static Tree tree(String zeroClass) throws DataContextException
+    {
+        CSVDataContext context = new CSVDataContext("a1,a2,noise");
+        context.addData("0,0,x", zeroClass);
+        context.addData("1,0,x", zeroClass.equals("Yes") ? "No" : "Yes");
+
+        return new Tree(context.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    @DisplayName("it gives the same results and logs as the classifier, from the cache once seen")
+    @Test
+    void sameResults() throws DataContextException
+    {
+        ClassificationCache cache = new ClassificationCache(classifier, 1000);
+        Random random = new Random(9);
+
+        for (int i = 0; i < 500; i++)
+        {
+            // Includes values not seen in training
+            CSVData data = dataContext.parse(random.nextInt(6) + "," + random.nextInt(5) + ",x");
+            ClassificationResult cached = cache.classify(data);
+
+            assertEquals(classifier.classify(data).toString(), cached.toString());
+            assertEquals(classifier.classify(data).toLongString(), cached.toLongString());
+            assertEquals(classifier.classify(data).getStatus(), cached.getStatus());
+        }
+
+        assertEquals(500L, cache.getHitCount() + cache.getMissCount());
+        // Four seen values of a1 and three of a2, each also unseen
+        assertEquals(20L, cache.getMissCount());
+        assertEquals(480 / 500.0, cache.getHitRate());
+    }
+
+    @DisplayName("it keys on the tested attributes only, sharing an entry between unseen values where the resolver prepares its choice")
+    @Test
+    void testedAttributes() throws DataContextException
+    {
+        ClassificationCache cache = new ClassificationCache(classifier, 1000);
+        cache.classify(dataContext.parse("1,2,x"));
+        cache.classify(dataContext.parse("1,2,y"));
+        ClassificationResult first = cache.classify(dataContext.parse("7,2,z"));
+        ClassificationResult second = cache.classify(dataContext.parse("8,2,z"));
+
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(first.toString(), second.toString());
+        // The log describes the unseen value of each data point
+        assertNotEquals(first.toLongString(), second.toLongString());
+        assertEquals(classifier.classify(dataContext.parse("8,2,z")).toLongString(), second.toLongString());
+    }
+
+    @DisplayName("it evicts a classification not used since the clock hand last passed when full")
+    @Test
+    void eviction() throws DataContextException
+    {
+        ClassificationCache cache = new ClassificationCache(classifier, 2);
+        cache.classify(dataContext.parse("0,0,x"));
+        cache.classify(dataContext.parse("1,0,x"));
+        cache.classify(dataContext.parse("0,0,x"));
+        cache.classify(dataContext.parse("2,0,x"));
+        cache.classify(dataContext.parse("0,0,x"));
+        cache.classify(dataContext.parse("1,0,x"));
+
+        assertEquals(2, cache.size());
+        assertEquals(2L, cache.getHitCount());
+        assertEquals(4L, cache.getMissCount());
+        assertThrows(IllegalArgumentException.class, () -> new ClassificationCache(classifier, 0));
+    }
+
+    @DisplayName("it classifies unseen values through the classifier where the resolver chooses for each value")
+    @Test
+    void valueDependentResolver() throws DataContextException
+    {
+        CSVDataContext context = new CSVDataContext("colour,size");
+        context.addData("red,large", "Yes");
+        context.addData("red,small", "Yes");
+        context.addData("blue,large", "No");
+        context.addData("blue,small", "No");
+        context.addData("green,large", "No");
+        context.addData("green,small", "Yes");
+
+        // Follows the nearest value below the unseen value, so unseen values that share a code take different paths
+        IResolveUnseenValue floorResolver = (targetAttribute, attributeValue, children, logger) -> {
+            String floorValue = children.floorKey(attributeValue);
+            return floorValue != null ? floorValue : children.firstKey();
+        };
+        DecisionTreeClassifier floorClassifier = new DecisionTreeClassifier(new Tree(context.getColumnarDataSet(), new MostCommonClassResolver(), floorResolver, null));
+        ClassificationCache cache = new ClassificationCache(floorClassifier, 100);
+
+        for (String values : new String[] { "zzz,large", "aaa,large", "zzz,large", "red,large", "red,large" })
+        {
+            CSVData data = context.parse(values);
+
+            assertEquals(floorClassifier.classify(data).toLongString(), cache.classify(data).toLongString());
+        }
+
+        assertEquals("Yes", cache.classify(context.parse("zzz,large")).toString());
+        assertEquals("No", cache.classify(context.parse("aaa,large")).toString());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(6L, cache.getMissCount());
+    }
+
+    @DisplayName("it is emptied when the model holder installs a new model")
+    @Test
+    void modelChange() throws DataContextException
+    {
+        ModelHolder holder = new ModelHolder(tree("Yes"));
+        ClassificationCache cache = new ClassificationCache(holder, 100);
+        CSVData data = dataContext.parse("0,0,x");
+
+        assertEquals("Yes", cache.classify(data).toString());
+        assertEquals("Yes", cache.classify(data).toString());
+
+        holder.swap(tree("No"));
+        ClassificationResult result = cache.classify(data);
+
+        assertEquals("No", result.toString());
+        assertEquals(2L, result.getModelVersion());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(1, cache.size());
+
+        cache.invalidate();
+        assertEquals(0, cache.size());
+    }
+}
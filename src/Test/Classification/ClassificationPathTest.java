@@ -0,0 +1,130 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationPath;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.LoggingMode;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClassificationPathTest
+{
+    static final String[] TEST_DATA = { "Tech,INT,LLP,Low", "Tech,JP,Corp,Low", "Health,US,GP,High", "Energy,EU,GP,Zero", "Retail,US,LLC,Med", "Media,UK,Corp,Low" };
+
+    static CSVDataContext dataContext;
+    static DecisionTreeClassifier classifier;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        dataContext = new CSVDataContext("Sector,Market,Structure,Debt Ratio");
+        dataContext.addData("Tech,INT,LLP,Low", "Yes");
+        dataContext.addData("Tech,INT,Corp,Low", "No");
+        dataContext.addData("Tech,US,Corp,Low", "Yes");
+        dataContext.addData("Health,US,GP,High", "No");
+        dataContext.addData("Health,EU,Corp,Low", "No");
+        dataContext.addData("Energy,UK,Corp,Low", "No");
+        dataContext.addData("Energy,US,GP,Med", "Yes");
+        dataContext.addData("Energy,EU,GP,High", "No");
+        dataContext.addData("Media,EU,GP,Low", "Yes");
+        dataContext.addData("Media,US,Corp,Med", "Yes");
+
+        classifier = new DecisionTreeClassifier(new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+    }
+
+    @DisplayName("it renders the same log from a deferred path as eager logging, which records no path")
+    @Test
+    void deferredMatchesEager() throws DataContextException
+    {
+        for (String values : TEST_DATA)
+        {
+            ClassificationResult eager = classifier.classify(dataContext.parse(values));
+            ClassificationResult deferred = classifier.classify(dataContext.parse(values), LoggingMode.DEFERRED);
+
+            assertEquals(eager.toLongString(), deferred.toLongString(), values);
+            assertNull(eager.getPath());
+        }
+    }
+
+    @DisplayName("it records the same path through the compiled tree as through the tree")
+    @Test
+    void compiledMatchesTree() throws DataContextException
+    {
+        ClassificationPath path = new ClassificationPath();
+
+        for (String values : TEST_DATA)
+        {
+            IData data = dataContext.parse(values);
+            classifier.getCompiledTree().classify(classifier.getCompiledTree().encode(data), path);
+
+            assertEquals(classifier.classify(data, LoggingMode.DEFERRED).getPath(), path, values);
+            assertEquals(classifier.classify(data).toLongString(), classifier.classify(data).toString() + " - " + classifier.explain(path, data), values);
+        }
+    }
+
+    @DisplayName("it records a path for every row of a batch")
+    @Test
+    void batch() throws DataContextException
+    {
+        CSVDataContext testContext = new CSVDataContext("Sector,Market,Structure,Debt Ratio");
+        for (String values : TEST_DATA)
+        {
+            testContext.addData(values, "Unknown");
+        }
+
+        ColumnarDataSet testData = testContext.getColumnarDataSet();
+        int[] classCodes = new int[testData.size()];
+        ClassificationPath[] paths = new ClassificationPath[testData.size()];
+        classifier.classifyBatch(testData, classCodes, paths, false);
+
+        for (int row = 0; row < testData.size(); row++)
+        {
+            assertEquals(classifier.classify(testData.getRow(row), LoggingMode.DEFERRED).getPath(), paths[row], TEST_DATA[row]);
+        }
+    }
+
+    @DisplayName("it marks substituted nodes and survives a round trip through an array")
+    @Test
+    void encoding() throws DataContextException
+    {
+        ClassificationPath path = classifier.classify(dataContext.parse("Retail,US,LLC,Med"), LoggingMode.DEFERRED).getPath();
+
+        assertEquals(0, path.getNodeId(0));
+        assertTrue(path.isSubstitution(1));
+        assertFalse(path.isFailed());
+        assertEquals(path, new ClassificationPath(path.toArray()));
+    }
+
+    @DisplayName("it marks the path when the navigation fails")
+    @Test
+    void failed() throws DataContextException
+    {
+        IResolveUnseenValue failingResolver = (targetAttribute, attributeValue, children, logger) -> {
+            throw new TreeNavigationException("No substitute for " + attributeValue);
+        };
+
+        DecisionTreeClassifier failingClassifier = new DecisionTreeClassifier(new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), failingResolver, null));
+        ClassificationResult result = failingClassifier.classify(dataContext.parse("Retail,US,LLC,Med"), LoggingMode.DEFERRED);
+
+        assertTrue(result.getPath().isFailed());
+        assertEquals(1, result.getPath().length());
+        assertEquals("Classification failed - Classification Failed", result.toLongString());
+        assertEquals(result.getPath(), new ClassificationPath(result.getPath().toArray()));
+    }
+}
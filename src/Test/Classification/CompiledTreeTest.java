@@ -0,0 +1,116 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.CompiledTree;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompiledTreeTest
+{
+    static CSVDataContext dataContext;
+    static DecisionTreeClassifier classifier;
+    static CompiledTree compiledTree;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        dataContext = new CSVDataContext("Sector,Market,Structure,Debt Ratio");
+        dataContext.addData("Tech,INT,LLP,Low", "Yes");
+        dataContext.addData("Tech,INT,Corp,Low", "No");
+        dataContext.addData("Tech,US,Corp,Low", "Yes");
+        dataContext.addData("Health,US,GP,High", "No");
+        dataContext.addData("Health,EU,Corp,Low", "No");
+        dataContext.addData("Energy,UK,Corp,Low", "No");
+        dataContext.addData("Energy,US,GP,Med", "Yes");
+        dataContext.addData("Energy,EU,GP,High", "No");
+        dataContext.addData("Media,EU,GP,Low", "Yes");
+        dataContext.addData("Media,US,Corp,Med", "Yes");
+
+        Tree tree = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+        classifier = new DecisionTreeClassifier(tree);
+        compiledTree = new CompiledTree(tree);
+    }
+
+    @DisplayName("it classifies every combination of values the same as the tree it was compiled from")
+    @Test
+    void sameAsTree() throws DataContextException
+    {
+        int[] encodedData = new int[compiledTree.getAttributes().size()];
+
+        for (String sector : new String[] { "Tech", "Health", "Energy", "Media", "Retail" })
+        {
+            for (String market : new String[] { "INT", "US", "EU", "UK", "JP" })
+            {
+                for (String structure : new String[] { "LLP", "Corp", "GP", "LLC" })
+                {
+                    for (String debtRatio : new String[] { "Low", "Med", "High", "Zero" })
+                    {
+                        String values = sector + "," + market + "," + structure + "," + debtRatio;
+                        compiledTree.encode(dataContext.parse(values), encodedData);
+
+                        assertEquals(classifier.classify(dataContext.parse(values)).toString(), compiledTree.getClassName(compiledTree.classify(encodedData)), values);
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("it passes values not seen at a node to a resolver that chooses for each value")
+    @Test
+    void valueDependentResolver() throws DataContextException
+    {
+        // Substitutes the closest value below the unseen value, so the choice differs between unseen values
+        IResolveUnseenValue floorResolver = (targetAttribute, attributeValue, children, logger) -> {
+            String floorKey = children.floorKey(attributeValue);
+            return floorKey == null ? children.firstKey() : floorKey;
+        };
+
+        Tree tree = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), floorResolver, null);
+        DecisionTreeClassifier floorClassifier = new DecisionTreeClassifier(tree);
+        CompiledTree floorTree = new CompiledTree(tree);
+        int[] encodedData = new int[floorTree.getAttributes().size()];
+
+        for (String sector : new String[] { "Tech", "Health", "Energy", "Media", "Retail", "Aero" })
+        {
+            for (String market : new String[] { "INT", "US", "EU", "UK", "JP", "AU" })
+            {
+                String values = sector + "," + market + ",Corp,Low";
+                floorTree.encode(dataContext.parse(values), encodedData);
+
+                assertEquals(floorClassifier.classify(dataContext.parse(values)).toString(),
+                        floorTree.getClassName(floorTree.classify(encodedData, dataContext.parse(values))), values);
+            }
+        }
+
+        // Without the data point a value not known at all cannot be passed to the resolver
+        floorTree.encode(dataContext.parse("Retail,JP,Corp,Low"), encodedData);
+        assertEquals(-1, floorTree.classify(encodedData));
+    }
+
+    @DisplayName("it only expects the attributes the tree tests")
+    @Test
+    void testedAttributes() throws DataContextException
+    {
+        CSVDataContext redundantContext = new CSVDataContext("Attr1,Attr2");
+        redundantContext.addData("1,1", "Yes");
+        redundantContext.addData("1,2", "No");
+        redundantContext.addData("2,1", "Yes");
+        redundantContext.addData("2,2", "No");
+
+        Tree tree = new Tree(redundantContext.getDataSet(), redundantContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+
+        assertEquals(List.of("Attr2"), new CompiledTree(tree).getAttributes());
+    }
+}
@@ -0,0 +1,82 @@
+package Test.Classification.DecisionTreeClassifier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchClassification
+{
+    static CSVDataContext scoringContext;
+    static DecisionTreeClassifier classifier;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(7);
+        CSVDataContext trainingContext = new CSVDataContext("a1,a2,a3");
+        scoringContext = new CSVDataContext("a3,a1,a2");
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int a1 = random.nextInt(4), a2 = random.nextInt(3), a3 = random.nextInt(5);
+            trainingContext.addData(a1 + "," + a2 + "," + a3, (a1 * a2 + a3 + random.nextInt(2)) % 3 == 0 ? "Yes" : "No");
+        }
+
+        // Scoring data holds the attributes in a different order, and includes values not seen in training
+        for (int i = 0; i < 10000; i++)
+        {
+            scoringContext.addData(random.nextInt(6) + "," + random.nextInt(5) + "," + random.nextInt(4), "");
+        }
+
+        classifier = new DecisionTreeClassifier(new Tree(trainingContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+    }
+
+    @DisplayName("it classifies a columnar batch the same as one data point at a time")
+    @Test
+    void columnarBatch()
+    {
+        ColumnarDataSet dataSet = scoringContext.getColumnarDataSet();
+        String[] sequential = new String[dataSet.size()];
+        String[] parallel = new String[dataSet.size()];
+        int[] classCodes = new int[dataSet.size()];
+
+        classifier.classifyBatch(dataSet, sequential, false);
+        classifier.classifyBatch(dataSet, parallel, true);
+        classifier.classifyBatch(dataSet, classCodes, true);
+
+        for (int row = 0; row < dataSet.size(); row++)
+        {
+            String expected = classifier.classify(scoringContext.getDataSet().get(row)).toString();
+
+            assertEquals(expected, sequential[row]);
+            assertEquals(expected, parallel[row]);
+            assertEquals(expected, classifier.getClassName(classCodes[row]));
+        }
+    }
+
+    @DisplayName("it classifies a list of data points the same as one data point at a time")
+    @Test
+    void listBatch()
+    {
+        String[] classes = new String[scoringContext.getDataSet().size()];
+
+        classifier.classifyBatch(scoringContext.getDataSet(), classes, true);
+
+        for (int index = 0; index < classes.length; index++)
+        {
+            assertEquals(classifier.classify(scoringContext.getDataSet().get(index)).toString(), classes[index]);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Test.Classification.DecisionTreeClassifier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentClassification
+{
+    private static final int THREAD_COUNT = 64;
+
+    static CSVDataContext trainingContext;
+    static List<CSVData> scoringData;
+    static Tree tree;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(21);
+        trainingContext = new CSVDataContext("a1,a2,a3");
+        scoringData = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int a1 = random.nextInt(4), a2 = random.nextInt(3), a3 = random.nextInt(5);
+            trainingContext.addData(a1 + "," + a2 + "," + a3, (a1 * a2 + a3 + random.nextInt(2)) % 3 == 0 ? "Yes" : "No");
+        }
+
+        // Includes values not seen in training, so the unseen value resolver is called concurrently
+        for (int i = 0; i < 500; i++)
+        {
+            scoringData.add(trainingContext.parse(random.nextInt(6) + "," + random.nextInt(5) + "," + random.nextInt(7)));
+        }
+
+        tree = new Tree(trainingContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    @DisplayName("it rejects changes to the nodes of a constructed tree")
+    @Test
+    void frozenNodes()
+    {
+        DecisionNode root = (DecisionNode) tree.getRoot();
+        Entry<String, Node> child = root.getChildren().iterator().next();
+
+        assertThrows(IllegalStateException.class, () -> root.addChild("new", new LeafNode("Yes", "", 1)));
+        assertThrows(IllegalStateException.class, () -> root.setClassCounts(Map.of("Yes", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> child.setValue(new LeafNode("Yes", "", 1)));
+        assertThrows(UnsupportedOperationException.class, () -> root.getChildren().clear());
+    }
+
+    @DisplayName("it rejects wrapping a subtree of another tree, which would renumber its nodes")
+    @Test
+    void sharedSubtree()
+    {
+        DecisionNode root = (DecisionNode) tree.getRoot();
+
+        assertEquals(tree.getNodeCount(), new Tree(root).getNodeCount());
+        assertThrows(IllegalStateException.class, () -> new Tree(root.getChildren().iterator().next().getValue()));
+    }
+
+    @DisplayName("it classifies and renders the same from many threads sharing one classifier as from one thread")
+    @Test
+    void sharedClassifier() throws Exception
+    {
+        DecisionTreeClassifier reference = new DecisionTreeClassifier(tree);
+        String[] expected = new String[scoringData.size()];
+        String[] expectedLogs = new String[scoringData.size()];
+
+        for (int index = 0; index < expected.length; index++)
+        {
+            expected[index] = reference.classify(scoringData.get(index)).toString();
+            expectedLogs[index] = reference.classify(scoringData.get(index)).toLongString();
+        }
+
+        String expectedTree = reference.toString();
+        String expectedSingleLineTree = reference.toSingleLineString();
+
+        // A fresh classifier so that the threads race to fill its rendering caches
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> mismatches = new ArrayList<>();
+
+        for (int thread = 0; thread < THREAD_COUNT; thread++)
+        {
+            int offset = thread;
+            mismatches.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+
+                for (int step = 0; step < scoringData.size(); step++)
+                {
+                    int index = (step + offset * 7) % scoringData.size();
+                    count += classifier.classify(scoringData.get(index)).toString().equals(expected[index]) ? 0 : 1;
+                    count += classifier.classify(scoringData.get(index)).toLongString().equals(expectedLogs[index]) ? 0 : 1;
+                    count += classifier.toString().equals(expectedTree) ? 0 : 1;
+                    count += classifier.toSingleLineString().equals(expectedSingleLineTree) ? 0 : 1;
+                }
+
+                return count;
+            }));
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        for (Future<Integer> threadMismatches : mismatches)
+        {
+            assertEquals(0, threadMismatches.get());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package Test.Classification.DecisionTreeClassifier;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.LoggingMode;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
+import DecisionTree.UnseenValueResolvers.IResolveUnseenValue;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoggingModes
+{
+    static final AtomicInteger descriptions = new AtomicInteger();
+    static CSVDataContext dataContext;
+    static DecisionTreeClassifier classifier;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        dataContext = new CSVDataContext("Attr1,Attr2");
+        dataContext.addData("1,1", "Yes");
+        dataContext.addData("1,2", "No");
+        dataContext.addData("2,1", "Yes");
+        dataContext.addData("2,2", "No");
+        dataContext.addData("2,2", "No");
+
+        MostCommonValueResolver countingResolver = new MostCommonValueResolver()
+        {
+            @Override
+            public String describeSubstitution(String targetAttribute, String attributeValue, String substitutedValue)
+            {
+                descriptions.incrementAndGet();
+                return super.describeSubstitution(targetAttribute, attributeValue, substitutedValue);
+            }
+        };
+
+        classifier = new DecisionTreeClassifier(new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), countingResolver, null));
+    }
+
+    @DisplayName("it only builds deferred log messages when the log is read")
+    @Test
+    void deferred() throws DataContextException
+    {
+        descriptions.set(0);
+        ClassificationResult result = classifier.classify(dataContext.parse("1,3"), LoggingMode.DEFERRED);
+
+        assertEquals("No", result.toString());
+        assertEquals(0, descriptions.get());
+        assertEquals(classifier.classify(dataContext.parse("1,3")).toLongString(), result.toLongString());
+    }
+
+    @DisplayName("it collects no log when logging is disabled")
+    @Test
+    void disabled() throws DataContextException
+    {
+        descriptions.set(0);
+        ClassificationResult result = classifier.classify(dataContext.parse("1,3"), LoggingMode.DISABLED);
+
+        assertEquals("No", result.toString());
+        assertEquals("No - ", result.toLongString());
+        assertEquals(0, descriptions.get());
+    }
+
+    @DisplayName("it renders the messages a resolver logs itself in deferred logs, as in eager logs")
+    @Test
+    void resolverMessages() throws DataContextException
+    {
+        // Resolves each value as it is seen, logging its own message rather than the default description
+        IResolveUnseenValue resolver = (targetAttribute, attributeValue, children, logger) -> {
+            if (logger != null)
+            {
+                logger.accept("Looked up " + attributeValue + " in " + targetAttribute);
+            }
+
+            if (attributeValue.equals("9"))
+            {
+                throw new TreeNavigationException("No value for " + attributeValue);
+            }
+
+            return children.firstKey();
+        };
+        DecisionTreeClassifier resolvingClassifier = new DecisionTreeClassifier(new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(),
+                resolver, null));
+
+        for (String values : new String[] { "1,3", "1,9" })
+        {
+            ClassificationResult eager = resolvingClassifier.classify(dataContext.parse(values), LoggingMode.EAGER);
+            ClassificationResult deferred = resolvingClassifier.classify(dataContext.parse(values), LoggingMode.DEFERRED);
+
+            assertEquals(eager.toLongString(), deferred.toLongString());
+        }
+
+        assertTrue(resolvingClassifier.classify(dataContext.parse("1,9"), LoggingMode.DEFERRED).toLongString().contains("Looked up 9 in Attr2"));
+    }
+}
@@ -60,4 +60,15 @@ public class ThreeLayerTree
     {
         assertEquals("C4", classifier.classify(dataContext.parse("2,2,3")).toString());
     }
+
+    @DisplayName("it classifies known values with a tree trained without an unseen value resolver")
+    @Test
+    void withoutUnseenValueResolver() throws DataContextException
+    {
+        Tree tree = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), null, null);
+        DecisionTreeClassifier unresolvedClassifier = new DecisionTreeClassifier(tree);
+
+        assertEquals("C1", unresolvedClassifier.classify(dataContext.parse("1,1,3")).toString());
+        assertEquals("C4", unresolvedClassifier.classify(dataContext.parse("2,2,3")).toString());
+    }
 }
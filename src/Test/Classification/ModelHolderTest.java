@@ -0,0 +1,185 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.ClassificationResult;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.ModelHolder;
+import DecisionTree.Classification.ModelWriter;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelHolderTest
+{
+    static CSVDataContext yesContext;
+    static CSVDataContext noContext;
+    static CSVData data;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        // Two models that disagree on every data point, so a result shows which model produced it
+        yesContext = new CSVDataContext("Sector,Market");
+        yesContext.addData("Tech,US", "Yes");
+        yesContext.addData("Health,EU", "Yes");
+        yesContext.addData("Health,US", "No");
+
+        noContext = new CSVDataContext("Sector,Market");
+        noContext.addData("Tech,US", "No");
+        noContext.addData("Health,EU", "No");
+        noContext.addData("Health,US", "Yes");
+
+        data = yesContext.parse("Tech,US");
+    }
+
+    static Tree tree(CSVDataContext dataContext)
+    {
+        return new Tree(dataContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    @DisplayName("it reports the version of the model that produced each result")
+    @Test
+    void versions()
+    {
+        ModelHolder holder = new ModelHolder(tree(yesContext), List.of(data));
+        ClassificationResult first = holder.classify(data);
+
+        holder.swap(tree(noContext));
+        ClassificationResult second = holder.classify(data);
+
+        assertEquals("Yes", first.toString());
+        assertEquals(1L, first.getModelVersion());
+        assertEquals("No", second.toString());
+        assertEquals(2L, second.getModelVersion());
+        assertEquals(2L, holder.getVersion());
+    }
+
+    @DisplayName("it lets a classifier read before a swap continue on the old model")
+    @Test
+    void inFlight()
+    {
+        ModelHolder holder = new ModelHolder(tree(yesContext));
+        DecisionTreeClassifier oldClassifier = holder.get();
+
+        holder.swap(tree(noContext));
+
+        assertEquals("Yes", oldClassifier.classify(data).toString());
+        assertEquals(1L, oldClassifier.classify(data).getModelVersion());
+        assertEquals("No", holder.classify(data).toString());
+    }
+
+    @DisplayName("it loads a saved model in the background and installs it")
+    @Test
+    void loadAsync() throws IOException, InterruptedException, ExecutionException
+    {
+        Path file = Files.createTempFile("model", ".dtm");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            new ModelWriter().write(tree(noContext), file);
+            ModelHolder holder = new ModelHolder(tree(yesContext));
+            DecisionTreeClassifier loaded = holder.loadAsync(file, new MostCommonValueResolver(), executor).get().orElseThrow();
+
+            assertSame(loaded, holder.get());
+            assertEquals("No", holder.classify(data).toString());
+            assertEquals(2L, holder.classify(data).getModelVersion());
+        }
+        finally
+        {
+            executor.shutdown();
+            Files.delete(file);
+        }
+    }
+
+    @DisplayName("it keeps the live model if loading a new one fails")
+    @Test
+    void failedLoad()
+    {
+        ModelHolder holder = new ModelHolder(tree(yesContext));
+        DecisionTreeClassifier live = holder.get();
+
+        assertThrows(ExecutionException.class, () -> holder.loadAsync(() -> {
+            throw new IOException("Model not found");
+        }, Runnable::run).get());
+        assertSame(live, holder.get());
+    }
+
+    @DisplayName("it keeps the later version when one requested earlier finishes loading last, reporting the drop")
+    @Test
+    void laterVersionKept()
+    {
+        ModelHolder holder = new ModelHolder(tree(yesContext));
+
+        // The loader of version 2 installs version 3 before version 2 is installed
+        AtomicReference<Optional<DecisionTreeClassifier>> third = new AtomicReference<>();
+        Optional<DecisionTreeClassifier> second = holder.loadAsync(() -> {
+            Tree secondTree = tree(yesContext);
+            third.set(holder.swap(tree(noContext)));
+            return secondTree;
+        }, Runnable::run).join();
+
+        assertTrue(second.isEmpty());
+        assertSame(third.get().orElseThrow(), holder.get());
+        assertEquals(3L, holder.getVersion());
+        assertEquals("No", holder.classify(data).toString());
+    }
+
+    @DisplayName("it classifies without interruption while models are swapped")
+    @Test
+    void swapUnderLoad() throws InterruptedException
+    {
+        ModelHolder holder = new ModelHolder(tree(yesContext));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger mismatches = new AtomicInteger();
+
+        for (int thread = 0; thread < 8; thread++)
+        {
+            executor.execute(() -> {
+                while (running.get())
+                {
+                    // Odd versions were trained on the first data set and even versions on the second
+                    ClassificationResult result = holder.classify(data);
+                    String expected = result.getModelVersion() % 2 == 1 ? "Yes" : "No";
+                    mismatches.addAndGet(expected.equals(result.toString()) ? 0 : 1);
+                }
+            });
+        }
+
+        for (int version = 2; version <= 200; version++)
+        {
+            holder.swap(tree(version % 2 == 1 ? yesContext : noContext));
+        }
+
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(0, mismatches.get());
+        assertEquals(200L, holder.getVersion());
+    }
+}
@@ -0,0 +1,128 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.MappedModel;
+import DecisionTree.Classification.ModelReader;
+import DecisionTree.Classification.ModelWriter;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModelSerializationTest
+{
+    static CSVDataContext dataContext;
+    static Tree tree;
+    static DecisionTreeClassifier classifier;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        dataContext = new CSVDataContext("Sector,Market,Structure");
+        dataContext.addData("Tech,INT,LLP", "Yes");
+        dataContext.addData("Tech,INT,Corp", "No");
+        dataContext.addData("Tech,US,Corp", "Yes");
+        dataContext.addData("Health,US,GP", "No");
+        dataContext.addData("Health,EU,Corp", "No");
+        dataContext.addData("Energy,UK,Corp", "No");
+        dataContext.addData("Energy,US,GP", "Yes");
+        dataContext.addData("Energy,US,GP", "No");
+        dataContext.addData("Media,EU,GP", "Yes");
+
+        tree = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+        classifier = new DecisionTreeClassifier(tree);
+    }
+
+    @DisplayName("it loads the same tree as was saved")
+    @Test
+    void roundTrip() throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ModelWriter().write(tree, stream);
+
+        Tree loaded = new ModelReader().read(new ByteArrayInputStream(stream.toByteArray()), new MostCommonValueResolver());
+
+        assertEquals(classifier.toString(), new DecisionTreeClassifier(loaded).toString());
+    }
+
+    @DisplayName("it classifies from a mapped model the same as from the tree")
+    @Test
+    void mappedClassification() throws IOException, DataContextException
+    {
+        Path file = Files.createTempFile("model", ".dtm");
+        try
+        {
+            new ModelWriter().write(tree, file);
+            MappedModel model = new ModelReader().map(file);
+
+            for (String sector : new String[] { "Tech", "Health", "Energy", "Media", "Retail" })
+            {
+                for (String market : new String[] { "INT", "US", "EU", "UK", "JP" })
+                {
+                    for (String structure : new String[] { "LLP", "Corp", "GP", "LLC" })
+                    {
+                        String values = sector + "," + market + "," + structure;
+
+                        assertEquals(classifier.classify(dataContext.parse(values)).toString(), model.getClassName(model.classify(model.encode(dataContext.parse(values)))), values);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @DisplayName("it keeps the training class counts of each node")
+    @Test
+    void classCounts() throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ModelWriter().write(tree, stream);
+
+        Tree loaded = new ModelReader().read(new ByteArrayInputStream(stream.toByteArray()), new MostCommonValueResolver());
+
+        for (int id = 0; id < tree.getNodeCount(); id++)
+        {
+            assertEquals(tree.getNode(id).getClassCounts(), loaded.getNode(id).getClassCounts());
+        }
+    }
+
+    @DisplayName("it rejects data that is not a saved model")
+    @Test
+    void notAModel()
+    {
+        assertThrows(IOException.class, () -> new ModelReader().load(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 })));
+    }
+
+    @DisplayName("it rejects a model truncated at any point")
+    @Test
+    void truncatedModel() throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ModelWriter().write(tree, stream);
+        byte[] bytes = stream.toByteArray();
+
+        for (int length = 0; length < bytes.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(bytes, length);
+            assertThrows(IOException.class, () -> new ModelReader().read(new ByteArrayInputStream(truncated), new MostCommonValueResolver()), "length " + length);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.ForestOptions;
+import DecisionTree.Classification.LoggingMode;
+import DecisionTree.Classification.RandomForestClassifier;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomForestClassification
+{
+    static CSVDataContext dataContext;
+    static ColumnarDataSet trainingData;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(11);
+        dataContext = new CSVDataContext("a1,a2,a3,a4,a5");
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(2), a3 = random.nextInt(4), a4 = random.nextInt(3), a5 = random.nextInt(5);
+            String assignedClass = random.nextInt(10) == 0 ? "Noise" : a1 == 0 ? "Low" : a2 == 0 ? "Mid" : "High";
+            dataContext.addData(a1 + "," + a2 + "," + a3 + "," + a4 + "," + a5, assignedClass);
+        }
+
+        trainingData = dataContext.getColumnarDataSet();
+    }
+
+    static RandomForestClassifier train(int parallelism)
+    {
+        ForestOptions options = new ForestOptions();
+        options.setTreeCount(15);
+        options.setAttributeSampleSize(2);
+        options.setSeed(3);
+        options.setParallelism(parallelism);
+        return new RandomForestClassifier(trainingData, new MostCommonClassResolver(), new MostCommonValueResolver(), options);
+    }
+
+    @DisplayName("it trains the same forest in parallel as sequentially")
+    @Test
+    void deterministic()
+    {
+        RandomForestClassifier sequential = train(1);
+        RandomForestClassifier parallel = train(4);
+
+        assertEquals(15, parallel.getTrees().size());
+        for (int index = 0; index < 15; index++)
+        {
+            assertEquals(new DecisionTreeClassifier(sequential.getTrees().get(index)).toString(), new DecisionTreeClassifier(parallel.getTrees().get(index)).toString());
+        }
+    }
+
+    @DisplayName("it votes past the noise in the training data")
+    @Test
+    void votes() throws DataContextException
+    {
+        RandomForestClassifier forest = train(2);
+
+        for (int a1 = 0; a1 < 3; a1++)
+        {
+            for (int a2 = 0; a2 < 2; a2++)
+            {
+                String expected = a1 == 0 ? "Low" : a2 == 0 ? "Mid" : "High";
+                assertEquals(expected, forest.classify(dataContext.parse(a1 + "," + a2 + ",1,1,1")).toString());
+            }
+        }
+    }
+
+    @DisplayName("it only logs the vote when logging is enabled")
+    @Test
+    void loggingModes() throws DataContextException
+    {
+        RandomForestClassifier forest = train(1);
+        CSVData data = dataContext.parse("1,1,1,1,1");
+
+        assertTrue(forest.classify(data).toLongString().startsWith("High - "));
+        assertTrue(forest.classify(data).toLongString().contains("trees voted for High"));
+        assertEquals("High - ", forest.classify(data, LoggingMode.DISABLED).toLongString());
+    }
+
+    @DisplayName("it votes the same in batch as one data point at a time")
+    @Test
+    void batch()
+    {
+        RandomForestClassifier forest = train(2);
+        String[] classes = new String[trainingData.size()];
+        forest.classifyBatch(trainingData, classes, true);
+
+        int correct = 0;
+        for (int row = 0; row < trainingData.size(); row++)
+        {
+            assertEquals(forest.classify(trainingData.getRow(row)).toString(), classes[row]);
+            correct += classes[row].equals(trainingData.getRow(row).assignedClass()) ? 1 : 0;
+        }
+
+        assertTrue(correct > trainingData.size() * 8 / 10);
+    }
+
+    @DisplayName("it trains every tree with the template training options")
+    @Test
+    void treeOptions()
+    {
+        TrainingOptions treeOptions = new TrainingOptions();
+        treeOptions.setNumericAttributes(Set.of("a5"));
+        treeOptions.setMaxDepth(1);
+
+        ForestOptions options = new ForestOptions();
+        options.setTreeCount(5);
+        options.setAttributeSampleSize(5);
+        options.setTreeOptions(treeOptions);
+        RandomForestClassifier forest = new RandomForestClassifier(trainingData, new MostCommonClassResolver(), new MostCommonValueResolver(), options);
+
+        for (Tree tree : forest.getTrees())
+        {
+            // A single split with every attribute available, so each tree tests the most informative attribute only
+            assertEquals("a1", tree.getRoot().toString());
+            assertTrue(tree.getNodeCount() <= 4);
+        }
+
+        assertEquals(0, treeOptions.getAttributeSampleSize());
+    }
+}
@@ -0,0 +1,100 @@
+package Test.Classification;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.TreePruner;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TreePrunerTest
+{
+    static ColumnarDataSet holdout;
+    static Tree tree;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(31);
+        CSVDataContext trainingContext = new CSVDataContext("a1,a2,a3,a4");
+        CSVDataContext holdoutContext = new CSVDataContext("a1,a2,a3,a4");
+
+        for (int i = 0; i < 3000; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(3), a3 = random.nextInt(4), a4 = random.nextInt(4);
+            String assignedClass = (a1 == 0 || a2 == 0 && a3 == 0) ^ random.nextInt(5) == 0 ? "Yes" : "No";
+
+            (i < 2000 ? trainingContext : holdoutContext).addData(a1 + "," + a2 + "," + a3 + "," + a4, assignedClass);
+        }
+
+        holdout = holdoutContext.getColumnarDataSet();
+        tree = new Tree(trainingContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+    }
+
+    static int holdoutErrors(Tree tree)
+    {
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree);
+        String[] classes = new String[holdout.size()];
+        classifier.classifyBatch(holdout, classes, false);
+
+        int errors = 0;
+        for (int row = 0; row < classes.length; row++)
+        {
+            errors += holdout.getRow(row).assignedClass().equals(classes[row]) ? 0 : 1;
+        }
+
+        return errors;
+    }
+
+    @DisplayName("it prunes subtrees that do not reduce the errors on the holdout set")
+    @Test
+    void reducedError()
+    {
+        int nodeCount = tree.getNodeCount();
+        Tree pruned = new TreePruner().pruneReducedError(tree, holdout, false);
+
+        assertTrue(pruned.getNodeCount() < nodeCount / 4);
+        assertTrue(holdoutErrors(pruned) <= holdoutErrors(tree));
+        assertEquals(nodeCount, tree.getNodeCount());
+    }
+
+    @DisplayName("it prunes the same in parallel as sequentially")
+    @Test
+    void parallel()
+    {
+        String sequential = new DecisionTreeClassifier(new TreePruner().pruneReducedError(tree, holdout, false)).toString();
+
+        assertEquals(sequential, new DecisionTreeClassifier(new TreePruner().pruneReducedError(tree, holdout, true)).toString());
+    }
+
+    @DisplayName("it prunes more heavily by pessimistic error at a lower confidence")
+    @Test
+    void pessimistic()
+    {
+        Tree pruned = new TreePruner().prunePessimistic(tree);
+        Tree heavilyPruned = new TreePruner().prunePessimistic(tree, 0.01);
+
+        assertTrue(pruned.getNodeCount() < tree.getNodeCount());
+        assertTrue(heavilyPruned.getNodeCount() <= pruned.getNodeCount());
+        assertEquals("a1", heavilyPruned.getRoot().toString());
+    }
+
+    @DisplayName("it rejects a confidence outside the range of the pessimistic estimate")
+    @Test
+    void invalidConfidence()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new TreePruner().prunePessimistic(tree, 0.75));
+    }
+}
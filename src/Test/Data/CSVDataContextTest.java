@@ -8,6 +8,8 @@ import DecisionTree.Data.CSVDataContext;
 import DecisionTree.Data.DataContextException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class CSVDataContextTest
@@ -42,4 +44,37 @@ class CSVDataContextTest
             new CSVDataContext("a1,a1,a2");
         });
     }
+
+    @DisplayName("it shares a single instance of each distinct value and class between data points")
+    @Test
+    void canonicalValues() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1,a2");
+        dataContext.addData(new String("v1,v2"), new String("Yes"));
+        dataContext.addData(new String("v1,v3"), new String("Yes"));
+
+        CSVData first = dataContext.getDataSet().get(0);
+        CSVData second = dataContext.getDataSet().get(1);
+        CSVData parsed = dataContext.parse(new String("v1,v4"));
+
+        assertSame(first.getAttributeValue("a1"), second.getAttributeValue("a1"));
+        assertSame(first.assignedClass(), second.assignedClass());
+        assertSame(first.getAttributeValue("a1"), parsed.getAttributeValue("a1"));
+        assertEquals("v4", parsed.getAttributeValue("a2"));
+        assertNull(parsed.getAttributeValue("a3"));
+        assertEquals("a1:v1,a2:v3 | Yes", second.toString());
+    }
+
+    @DisplayName("it keeps the shared attributes of its data points when the attribute list is changed")
+    @Test
+    void attributeListCopy() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1,a2");
+        dataContext.addData("v1,v2", "Yes");
+
+        dataContext.getAttributes().set(0, "a3");
+
+        assertEquals("a1", dataContext.getAttributes().get(0));
+        assertEquals("v1", dataContext.getDataSet().get(0).getAttributeValue("a1"));
+    }
 }
@@ -0,0 +1,121 @@
+package Test.Data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import DecisionTree.Data.CSVFileLoader;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CSVFileLoaderTest
+{
+    private static final String CSV = "a1,Class,a2\r\nx,Yes,1\r\ny,No,2\r\n\r\nx,No,2";
+
+    @DisplayName("it loads a memory mapped file with the class column in any position")
+    @Test
+    void loadFile() throws IOException, DataContextException
+    {
+        Path file = Files.createTempFile("data", ".csv");
+        try
+        {
+            Files.writeString(file, CSV);
+            ColumnarDataSet dataSet = new CSVFileLoader("Class").load(file);
+
+            assertEquals(3, dataSet.size());
+            assertEquals(List.of("a1", "a2"), dataSet.getAttributes());
+            assertEquals("y", dataSet.getRow(1).getAttributeValue("a1"));
+            assertEquals("2", dataSet.getRow(2).getAttributeValue("a2"));
+            assertEquals("No", dataSet.getRow(2).assignedClass());
+            assertEquals(2, dataSet.getCardinality(0));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @DisplayName("it loads a stream")
+    @Test
+    void loadStream() throws IOException, DataContextException
+    {
+        ColumnarDataSet dataSet = new CSVFileLoader("Class").load(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, dataSet.size());
+        assertEquals("Yes", dataSet.getRow(0).assignedClass());
+        assertEquals("1", dataSet.getRow(0).getAttributeValue("a2"));
+    }
+
+    @DisplayName("it skips a byte order mark at the start of a file or stream")
+    @Test
+    void byteOrderMark() throws IOException, DataContextException
+    {
+        byte[] bytes = ("\uFEFF" + CSV).getBytes(StandardCharsets.UTF_8);
+        // Reads a byte at a time, so the byte order mark is split between buffers
+        InputStream trickle = new ByteArrayInputStream(bytes)
+        {
+            @Override
+            public synchronized int read(byte[] buffer, int offset, int length)
+            {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+        Path file = Files.createTempFile("data", ".csv");
+
+        try
+        {
+            Files.write(file, bytes);
+
+            assertEquals(List.of("a1", "a2"), new CSVFileLoader("Class").load(file).getAttributes());
+            assertEquals(List.of("a1", "a2"), new CSVFileLoader("Class").load(new ByteArrayInputStream(bytes)).getAttributes());
+            assertEquals(List.of("a1", "a2"), new CSVFileLoader("Class").load(trickle).getAttributes());
+            assertEquals("x", new CSVFileLoader("Class").load(file).getRow(0).getAttributeValue("a1"));
+        }
+        finally
+        {
+            Files.delete(file);
+        }
+    }
+
+    @DisplayName("it widens the codes of a column as its values outgrow a byte and then a short")
+    @Test
+    void wideningColumns() throws IOException, DataContextException
+    {
+        StringBuilder csv = new StringBuilder("few,many,Class\n");
+        for (int row = 0; row < 70000; row++)
+        {
+            csv.append(row % 3).append(',').append(String.format("%05d", row)).append(",Yes\n");
+        }
+
+        ColumnarDataSet dataSet = new CSVFileLoader("Class").load(new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(70000, dataSet.getCardinality(1));
+        assertEquals("2", dataSet.getRow(69998).getAttributeValue("few"));
+        assertEquals("00300", dataSet.getRow(300).getAttributeValue("many"));
+        assertEquals(69999, dataSet.getColumn(1).get(69999));
+    }
+
+    @DisplayName("it throws a DataContextException when a row has too many values")
+    @Test
+    void tooManyValues()
+    {
+        assertThrows(DataContextException.class, () -> new CSVFileLoader("Class").load(new ByteArrayInputStream("a1,Class\nx,Yes,1\n".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @DisplayName("it throws a DataContextException when the class column is missing")
+    @Test
+    void missingClass()
+    {
+        assertThrows(DataContextException.class, () -> new CSVFileLoader("Class").load(new ByteArrayInputStream("a1,a2\nx,1\n".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,83 @@
+package Test.Data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnarDataSetTest
+{
+    @DisplayName("it returns the same values as the data points it was encoded from")
+    @Test
+    void roundTrip() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1,a2");
+        dataContext.addData("x,1", "B");
+        dataContext.addData("y,2", "A");
+        ColumnarDataSet dataSet = dataContext.getColumnarDataSet();
+
+        assertEquals(2, dataSet.size());
+        assertEquals("y", dataSet.getRow(1).getAttributeValue("a1"));
+        assertEquals("2", dataSet.getRow(1).getAttributeValue("a2"));
+        assertEquals("A", dataSet.getRow(1).assignedClass());
+    }
+
+    @DisplayName("it assigns codes in alphabetical order of the values")
+    @Test
+    void sortedDictionary() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1");
+        dataContext.addData("c", "Yes");
+        dataContext.addData("a", "No");
+        dataContext.addData("b", "Yes");
+        ColumnarDataSet dataSet = dataContext.getColumnarDataSet();
+
+        assertEquals(3, dataSet.getCardinality(0));
+        assertEquals(2, dataSet.getColumn(0).get(0));
+        assertEquals(0, dataSet.getColumn(0).get(1));
+        assertEquals("b", dataSet.getValue(0, 1));
+        assertEquals(-1, dataSet.getCode(0, "d"));
+        assertEquals("No", dataSet.getClassName(0));
+    }
+
+    @DisplayName("it encodes attributes with more than 256 values")
+    @Test
+    void wideColumn() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1");
+        for (int value = 0; value < 1000; value++)
+        {
+            dataContext.addData(String.format("%04d", value), "Yes");
+        }
+        ColumnarDataSet dataSet = dataContext.getColumnarDataSet();
+
+        assertEquals(999, dataSet.getColumn(0).get(999));
+        assertEquals("0999", dataSet.getRow(999).getAttributeValue("a1"));
+    }
+
+    @DisplayName("it quantile bins numeric attributes into bins of roughly equal size named by their highest value")
+    @Test
+    void binned() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("a1,a2");
+        for (int value = 1; value <= 1000; value++)
+        {
+            dataContext.addData(value + "," + value % 3, "Yes");
+        }
+        ColumnarDataSet dataSet = dataContext.getColumnarDataSet().binned(Set.of("a1", "a2"), 4);
+
+        assertEquals(4, dataSet.getCardinality(0));
+        assertEquals(3, dataSet.getCardinality(1));
+        assertEquals("250", dataSet.getRow(0).getAttributeValue("a1"));
+        assertEquals("250", dataSet.getRow(249).getAttributeValue("a1"));
+        assertEquals("500", dataSet.getRow(250).getAttributeValue("a1"));
+        assertEquals("1000", dataSet.getRow(999).getAttributeValue("a1"));
+        assertEquals("2", dataSet.getRow(1).getAttributeValue("a2"));
+    }
+}
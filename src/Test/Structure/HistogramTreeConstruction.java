@@ -0,0 +1,98 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HistogramTreeConstruction
+{
+    static ColumnarDataSet dataSet;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(23);
+        CSVDataContext dataContext = new CSVDataContext("x,y,colour");
+
+        for (int i = 0; i < 3000; i++)
+        {
+            double x = random.nextInt(100000) / 100.0;
+            int y = random.nextInt(500), colour = random.nextInt(4);
+            String assignedClass = (x > 600 && colour != 1) || y > x / 2 + 100 || random.nextInt(10) == 0 ? "Yes" : "No";
+
+            dataContext.addData(x + "," + y + "," + colour, assignedClass, 1 + random.nextInt(3));
+        }
+
+        dataSet = dataContext.getColumnarDataSet();
+    }
+
+    static TrainingOptions options(int histogramBins)
+    {
+        TrainingOptions options = new TrainingOptions();
+        options.setNumericAttributes(Set.of("x", "y"));
+        options.setHistogramBins(histogramBins);
+        return options;
+    }
+
+    static String tree(ColumnarDataSet dataSet, TrainingOptions options)
+    {
+        return new DecisionTreeClassifier(new Tree(dataSet, new MostCommonClassResolver(), new MostCommonValueResolver(), null, options)).toString();
+    }
+
+    @DisplayName("it builds the same tree in histogram mode as from the binned data counted at every node")
+    @Test
+    void sameAsBinned()
+    {
+        String expected = tree(dataSet.binned(Set.of("x", "y"), 32), options(0));
+
+        assertEquals(expected, tree(dataSet, options(32)));
+    }
+
+    @DisplayName("it builds the same tree in parallel histogram mode as sequentially")
+    @Test
+    void parallel()
+    {
+        TrainingOptions options = options(64);
+        options.setParallelism(4);
+        options.setParallelThreshold(100);
+        options.setParallelGainThreshold(100);
+
+        assertEquals(tree(dataSet, options(64)), tree(dataSet, options));
+    }
+
+    @DisplayName("it builds the same tree in histogram mode as the exact tree when every value has its own bin")
+    @Test
+    void sameAsExact() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("x,colour");
+        for (int i = 0; i < 200; i++)
+        {
+            dataContext.addData(i % 50 + "," + i % 3, i % 50 > 20 || i % 3 == 0 ? "Yes" : "No");
+        }
+
+        assertEquals(tree(dataContext.getColumnarDataSet(), options(0)), tree(dataContext.getColumnarDataSet(), options(256)));
+    }
+
+    @DisplayName("it rejects a bin count that does not fit in a byte")
+    @Test
+    void invalidBins()
+    {
+        assertThrows(IllegalArgumentException.class, () -> options(257));
+        assertThrows(IllegalArgumentException.class, () -> options(1));
+    }
+}
@@ -0,0 +1,77 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.IncrementalTree;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IncrementalTreeConstruction
+{
+    static CSVDataContext dataContext;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(7);
+        dataContext = new CSVDataContext("a1,a2,a3,a4");
+
+        for (int i = 0; i < 300; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(4), a3 = random.nextInt(2), a4 = random.nextInt(3);
+            String assignedClass = (a1 + a2 * a3 + random.nextInt(2)) % 3 == 0 ? "Yes" : a4 == 0 ? "Maybe" : "No";
+            dataContext.addData(a1 + "," + a2 + "," + a3 + "," + a4, assignedClass);
+        }
+    }
+
+    @DisplayName("it matches a tree trained on all the data added so far after every addition")
+    @Test
+    void sameAsBatch()
+    {
+        IncrementalTree incrementalTree = new IncrementalTree(dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver());
+
+        for (int size = 1; size <= dataContext.getDataSet().size(); size++)
+        {
+            incrementalTree.addData(dataContext.getDataSet().get(size - 1));
+            Tree batchTree = new Tree(dataContext.getDataSet().subList(0, size), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+
+            assertEquals(new DecisionTreeClassifier(batchTree).toString(), new DecisionTreeClassifier(incrementalTree.toTree()).toString(), "After " + size + " data points");
+        }
+
+        assertEquals(dataContext.getDataSet().size(), incrementalTree.size());
+    }
+
+    @DisplayName("it leaves earlier snapshots unchanged")
+    @Test
+    void snapshot()
+    {
+        IncrementalTree incrementalTree = new IncrementalTree(dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver());
+        incrementalTree.addData(dataContext.getDataSet().subList(0, 20));
+        Tree snapshot = incrementalTree.toTree();
+        String before = new DecisionTreeClassifier(snapshot).toString();
+
+        incrementalTree.addData(dataContext.getDataSet().subList(20, 300));
+
+        assertEquals(before, new DecisionTreeClassifier(snapshot).toString());
+    }
+
+    @DisplayName("it cannot take a snapshot before any data has been added")
+    @Test
+    void empty()
+    {
+        IncrementalTree incrementalTree = new IncrementalTree(dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver());
+
+        assertThrows(IllegalStateException.class, incrementalTree::toTree);
+    }
+}
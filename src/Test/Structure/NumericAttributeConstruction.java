@@ -0,0 +1,149 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.Set;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.MappedModel;
+import DecisionTree.Classification.ModelReader;
+import DecisionTree.Classification.ModelWriter;
+import DecisionTree.Data.CSVData;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.ThresholdNode;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NumericAttributeConstruction
+{
+    static CSVDataContext ageContext;
+    static CSVDataContext randomContext;
+    static TrainingOptions options;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        ageContext = new CSVDataContext("Age,Sector");
+        ageContext.addData("5,Tech", "Yes");
+        ageContext.addData("12,Health", "Yes");
+        ageContext.addData("12,Tech", "Yes");
+        ageContext.addData("30,Energy", "Yes");
+        ageContext.addData("41,Tech", "No");
+        ageContext.addData("55,Health", "No");
+        ageContext.addData("63,Energy", "No");
+        ageContext.addData("100,Energy", "No");
+
+        Random random = new Random(17);
+        randomContext = new CSVDataContext("x,y,colour");
+
+        for (int i = 0; i < 500; i++)
+        {
+            int x = random.nextInt(100), y = random.nextInt(20), colour = random.nextInt(3);
+            String assignedClass = (x > 60 && colour != 1) || y * 5 > x + 40 || random.nextInt(10) == 0 ? "Yes" : "No";
+
+            randomContext.addData(x + "," + y + "," + colour, assignedClass);
+        }
+
+        options = new TrainingOptions();
+        options.setNumericAttributes(Set.of("Age", "x", "y"));
+    }
+
+    static Tree ageTree()
+    {
+        return new Tree(ageContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null, options);
+    }
+
+    static Tree randomTree()
+    {
+        return new Tree(randomContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null, options);
+    }
+
+    @DisplayName("it splits a numeric attribute at the highest value of the lower side of the best threshold")
+    @Test
+    void threshold() throws DataContextException
+    {
+        Tree tree = ageTree();
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree);
+
+        assertTrue(tree.getRoot() instanceof ThresholdNode);
+        assertEquals("30", ((ThresholdNode) tree.getRoot()).getThresholdText());
+        assertEquals("Yes", classifier.classify(ageContext.parse("30,Media")).toString());
+        assertEquals("Yes", classifier.classify(ageContext.parse("-7,Media")).toString());
+        assertEquals("No", classifier.classify(ageContext.parse("30.5,Media")).toString());
+        assertEquals("No", classifier.classify(ageContext.parse("1e6,Media")).toString());
+    }
+
+    @DisplayName("it resolves values of a numeric attribute that are not numbers as unseen values")
+    @Test
+    void notANumber() throws DataContextException
+    {
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(ageTree());
+
+        // Both sides hold 4 training rows, so the resolver substitutes the first key alphabetically
+        assertEquals("Yes", classifier.classify(ageContext.parse("unknown,Tech")).toString());
+    }
+
+    @DisplayName("it rejects training values of a numeric attribute that are not numbers")
+    @Test
+    void invalidTrainingValue() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext("Age,Sector");
+        dataContext.addData("5,Tech", "Yes");
+        dataContext.addData("old,Tech", "No");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new Tree(dataContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null, options));
+    }
+
+    @DisplayName("it classifies numeric attributes the same when compiled as when walking the tree")
+    @Test
+    void compiled()
+    {
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(randomTree());
+        String[] batchClasses = new String[randomContext.getDataSet().size()];
+        classifier.classifyBatch(randomContext.getColumnarDataSet(), batchClasses, false);
+
+        for (int row = 0; row < batchClasses.length; row++)
+        {
+            CSVData data = randomContext.getDataSet().get(row);
+
+            assertEquals(classifier.classify(data).toString(), batchClasses[row]);
+        }
+    }
+
+    @DisplayName("it loads the same numeric tree as was saved")
+    @Test
+    void roundTrip() throws IOException, DataContextException
+    {
+        Tree tree = randomTree();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ModelWriter().write(tree, stream);
+
+        Tree loaded = new ModelReader().read(new ByteArrayInputStream(stream.toByteArray()), new MostCommonValueResolver());
+        MappedModel model = new ModelReader().load(new ByteArrayInputStream(stream.toByteArray()));
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree);
+
+        assertEquals(classifier.toString(), new DecisionTreeClassifier(loaded).toString());
+
+        for (String values : new String[] { "0,0,0", "61,3,2", "60,19,1", "99.5,-1,0", "x,12,1" })
+        {
+            CSVData data = randomContext.parse(values);
+            int classCode = model.classify(model.encode(data));
+
+            assertEquals(classifier.classify(data).toString(), classCode < 0 ? null : model.getClassName(classCode));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelTreeConstruction
+{
+    static CSVDataContext dataContext;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(42);
+        dataContext = new CSVDataContext("a1,a2,a3,a4,a5");
+
+        for (int i = 0; i < 5000; i++)
+        {
+            int a1 = random.nextInt(4), a2 = random.nextInt(3), a3 = random.nextInt(5), a4 = random.nextInt(2), a5 = random.nextInt(6);
+            String assignedClass = (a1 + a2 * a4 + random.nextInt(2)) % 3 == 0 ? "Yes" : "No";
+            dataContext.addData(a1 + "," + a2 + "," + a3 + "," + a4 + "," + a5, assignedClass);
+        }
+    }
+
+    @DisplayName("it builds the same tree and log with parallel subtrees and attribute scoring as sequentially")
+    @Test
+    void sameAsSequential()
+    {
+        ArrayList<String> sequentialLog = new ArrayList<>();
+        Tree sequential = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), sequentialLog::add);
+
+        TrainingOptions options = new TrainingOptions();
+        options.setParallelism(4);
+        options.setParallelThreshold(50);
+        options.setParallelGainThreshold(100);
+        ArrayList<String> parallelLog = new ArrayList<>();
+        Tree parallel = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), parallelLog::add, options);
+
+        assertEquals(new DecisionTreeClassifier(sequential).toString(), new DecisionTreeClassifier(parallel).toString());
+        assertEquals(sequentialLog, parallelLog);
+    }
+
+    @DisplayName("it chooses the same random candidate attributes in parallel as sequentially")
+    @Test
+    void sampledAttributes()
+    {
+        TrainingOptions sequentialOptions = new TrainingOptions();
+        sequentialOptions.setAttributeSampleSize(2);
+        sequentialOptions.setSeed(9);
+        Tree sequential = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null, sequentialOptions);
+
+        TrainingOptions parallelOptions = new TrainingOptions();
+        parallelOptions.setAttributeSampleSize(2);
+        parallelOptions.setSeed(9);
+        parallelOptions.setParallelism(4);
+        parallelOptions.setParallelThreshold(50);
+        Tree parallel = new Tree(dataContext.getDataSet(), dataContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null, parallelOptions);
+
+        assertEquals(new DecisionTreeClassifier(sequential).toString(), new DecisionTreeClassifier(parallel).toString());
+    }
+}
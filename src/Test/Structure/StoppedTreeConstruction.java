@@ -0,0 +1,137 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map.Entry;
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.ColumnarDataSet;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.TrainingOptions;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoppedTreeConstruction
+{
+    static ColumnarDataSet dataSet;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(29);
+        CSVDataContext dataContext = new CSVDataContext("a1,a2,a3,a4,a5");
+
+        for (int i = 0; i < 2000; i++)
+        {
+            int a1 = random.nextInt(4), a2 = random.nextInt(4), a3 = random.nextInt(3), a4 = random.nextInt(5), a5 = random.nextInt(2);
+            String assignedClass = (a1 + a2 * a5 + random.nextInt(3)) % 3 == 0 ? "Yes" : "No";
+
+            dataContext.addData(a1 + "," + a2 + "," + a3 + "," + a4 + "," + a5, assignedClass);
+        }
+
+        dataSet = dataContext.getColumnarDataSet();
+    }
+
+    static Tree tree(TrainingOptions options)
+    {
+        return new Tree(dataSet, new MostCommonClassResolver(), new MostCommonValueResolver(), null, options);
+    }
+
+    static int depth(Node node)
+    {
+        int depth = 0;
+
+        if (node instanceof DecisionNode)
+        {
+            for (Entry<String, Node> child : ((DecisionNode) node).getChildren())
+            {
+                depth = Math.max(depth, depth(child.getValue()) + 1);
+            }
+        }
+
+        return depth;
+    }
+
+    @DisplayName("it stops splitting at the maximum depth")
+    @Test
+    void maxDepth()
+    {
+        TrainingOptions options = new TrainingOptions();
+        options.setMaxDepth(2);
+
+        assertTrue(depth(tree(new TrainingOptions()).getRoot()) > 2);
+        assertEquals(2, depth(tree(options).getRoot()));
+    }
+
+    @DisplayName("it assigns the class of a stopped leaf with the all attributes used resolver")
+    @Test
+    void stoppedLeafClass()
+    {
+        TrainingOptions options = new TrainingOptions();
+        options.setMaxDepth(0);
+
+        Tree tree = new Tree(dataSet, rows -> "Stopped " + rows.size(), new MostCommonValueResolver(), null, options);
+
+        assertEquals("Stopped 2000", ((LeafNode) tree.getRoot()).getClassification());
+    }
+
+    @DisplayName("it does not split nodes with fewer samples than the minimum or a gain below the minimum")
+    @Test
+    void minRowsAndGain()
+    {
+        TrainingOptions options = new TrainingOptions();
+        options.setMinRows(100);
+        options.setMinGain(0.01);
+        Tree tree = tree(options);
+
+        for (int id = 0; id < tree.getNodeCount(); id++)
+        {
+            if (tree.getNode(id) instanceof DecisionNode)
+            {
+                assertTrue(tree.getNode(id).getOccurrencesInDataSet() >= 100);
+                assertTrue(((DecisionNode) tree.getNode(id)).getGain() >= 0.01);
+            }
+        }
+    }
+
+    @DisplayName("it builds no more than the maximum number of nodes, the same in parallel as sequentially")
+    @Test
+    void maxNodes()
+    {
+        TrainingOptions options = new TrainingOptions();
+        options.setMaxNodes(50);
+        Tree tree = tree(options);
+
+        TrainingOptions parallelOptions = new TrainingOptions();
+        parallelOptions.setMaxNodes(50);
+        parallelOptions.setParallelism(4);
+        parallelOptions.setParallelThreshold(10);
+
+        assertTrue(tree.getNodeCount() <= 50);
+        assertTrue(tree.getNodeCount() > 40);
+        assertEquals(new DecisionTreeClassifier(tree).toString(), new DecisionTreeClassifier(tree(parallelOptions)).toString());
+    }
+
+    @DisplayName("it rejects invalid stopping criteria")
+    @Test
+    void invalidOptions()
+    {
+        TrainingOptions options = new TrainingOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> options.setMaxDepth(-1));
+        assertThrows(IllegalArgumentException.class, () -> options.setMinRows(0));
+        assertThrows(IllegalArgumentException.class, () -> options.setMaxNodes(0));
+    }
+}
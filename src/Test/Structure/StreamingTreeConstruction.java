@@ -0,0 +1,185 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Classification.TreePruner;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Data.IData;
+import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.HoeffdingTree;
+import DecisionTree.Structure.Node;
+import DecisionTree.Structure.StreamingOptions;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamingTreeConstruction
+{
+    static final List<String> ATTRIBUTES = List.of("a1", "a2", "a3", "a4");
+
+    /**
+     * Streams data points whose class depends only on the first two attributes.
+     */
+    static void stream(HoeffdingTree tree, CSVDataContext dataContext, int count, long seed) throws DataContextException
+    {
+        Random random = new Random(seed);
+
+        for (int i = 0; i < count; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(2), a3 = random.nextInt(4), a4 = random.nextInt(5);
+            String values = a1 + "," + a2 + "," + a3 + "," + a4;
+            tree.addData(new StreamedData(dataContext.parse(values), expectedClass(a1, a2)));
+        }
+    }
+
+    static String expectedClass(int a1, int a2)
+    {
+        return a1 == 0 ? "Low" : a2 == 0 ? "Mid" : "High";
+    }
+
+    @DisplayName("it learns the concept behind a stream without holding on to the data")
+    @Test
+    void learnsConcept() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext(String.join(",", ATTRIBUTES));
+        HoeffdingTree tree = new HoeffdingTree(ATTRIBUTES, new MostCommonValueResolver());
+        stream(tree, dataContext, 20000, 3);
+
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree.toTree());
+
+        for (int a1 = 0; a1 < 3; a1++)
+        {
+            for (int a2 = 0; a2 < 2; a2++)
+            {
+                assertEquals(expectedClass(a1, a2), classifier.classify(dataContext.parse(a1 + "," + a2 + ",0,0")).toString());
+            }
+        }
+
+        assertEquals(20000L, tree.size());
+        assertEquals(20000, tree.toTree().getRoot().getOccurrencesInDataSet());
+    }
+
+    @DisplayName("it never grows beyond the maximum number of nodes")
+    @Test
+    void boundedNodes() throws DataContextException
+    {
+        StreamingOptions options = new StreamingOptions();
+        options.setMaxNodes(4);
+        options.setGracePeriod(50);
+        CSVDataContext dataContext = new CSVDataContext(String.join(",", ATTRIBUTES));
+        HoeffdingTree tree = new HoeffdingTree(ATTRIBUTES, new MostCommonValueResolver(), options);
+        stream(tree, dataContext, 20000, 5);
+
+        assertTrue(tree.getNodeCount() <= 4);
+        assertEquals(tree.getNodeCount(), tree.toTree().getNodeCount());
+    }
+
+    @DisplayName("it counts the classes at split nodes, including data points with no room for a child")
+    @Test
+    void splitNodeCounts() throws DataContextException
+    {
+        StreamingOptions options = new StreamingOptions();
+        options.setMaxNodes(4);
+        CSVDataContext dataContext = new CSVDataContext(String.join(",", ATTRIBUTES));
+        HoeffdingTree tree = new HoeffdingTree(ATTRIBUTES, new MostCommonValueResolver(), options);
+        stream(tree, dataContext, 20000, 5);
+
+        // A value of a1 first seen once the tree is full has no child to reach
+        for (int i = 0; i < 100; i++)
+        {
+            tree.addData(new StreamedData(dataContext.parse("3,0,0,0"), "Low"));
+        }
+
+        Node root = tree.toTree().getRoot();
+        int childOccurrences = 0;
+        for (Entry<String, Node> child : ((DecisionNode) root).getChildren())
+        {
+            childOccurrences += child.getValue().getOccurrencesInDataSet();
+        }
+
+        assertEquals("a1", root.toString());
+        assertEquals(20100, root.getClassCounts().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(20000, childOccurrences);
+        // Pruning estimates the errors of each subtree from its class counts
+        assertEquals(root.getClassCounts(), new TreePruner().prunePessimistic(tree.toTree()).getRoot().getClassCounts());
+    }
+
+    @DisplayName("it remains a single leaf until the grace period has passed")
+    @Test
+    void gracePeriod() throws DataContextException
+    {
+        CSVDataContext dataContext = new CSVDataContext(String.join(",", ATTRIBUTES));
+        HoeffdingTree tree = new HoeffdingTree(ATTRIBUTES, new MostCommonValueResolver());
+        stream(tree, dataContext, 199, 7);
+
+        assertEquals(1, tree.getNodeCount());
+        assertThrows(IllegalStateException.class, () -> new HoeffdingTree(ATTRIBUTES, new MostCommonValueResolver()).toTree());
+    }
+
+    @DisplayName("it counts a bounded number of values of each attribute at a leaf")
+    @Test
+    void boundedValues() throws DataContextException
+    {
+        // Every data point has its own id, which would otherwise be counted separately and split on as the purest attribute
+        StreamingOptions options = new StreamingOptions();
+        options.setMaxValuesPerAttribute(20);
+        CSVDataContext dataContext = new CSVDataContext("id,a1,a2");
+        HoeffdingTree tree = new HoeffdingTree(List.of("id", "a1", "a2"), new MostCommonValueResolver(), options);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 20000; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(2);
+            tree.addData(new StreamedData(dataContext.parse(i + "," + a1 + "," + a2), expectedClass(a1, a2)));
+        }
+
+        DecisionTreeClassifier classifier = new DecisionTreeClassifier(tree.toTree());
+
+        assertEquals("a1", tree.toTree().getRoot().toString());
+        for (int a1 = 0; a1 < 3; a1++)
+        {
+            for (int a2 = 0; a2 < 2; a2++)
+            {
+                assertEquals(expectedClass(a1, a2), classifier.classify(dataContext.parse("-1," + a1 + "," + a2)).toString());
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> options.setMaxValuesPerAttribute(0));
+    }
+
+    /**
+     * A streamed data point with its class assigned.
+     */
+    static class StreamedData implements IData
+    {
+        private final IData data;
+        private final String assignedClass;
+
+        StreamedData(IData data, String assignedClass)
+        {
+            this.data = data;
+            this.assignedClass = assignedClass;
+        }
+
+        @Override
+        public String assignedClass()
+        {
+            return assignedClass;
+        }
+
+        @Override
+        public String getAttributeValue(String attribute)
+        {
+            return data.getAttributeValue(attribute);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Test.Structure;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import DecisionTree.AllAttributesUsedResolvers.MostCommonClassResolver;
+import DecisionTree.Classification.DecisionTreeClassifier;
+import DecisionTree.Data.CSVDataContext;
+import DecisionTree.Data.DataContextException;
+import DecisionTree.Structure.IncrementalTree;
+import DecisionTree.Structure.Tree;
+import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WeightedTreeConstruction
+{
+    static CSVDataContext weightedContext;
+    static CSVDataContext expandedContext;
+
+    @BeforeAll
+    static void setup() throws DataContextException
+    {
+        Random random = new Random(13);
+        weightedContext = new CSVDataContext("a1,a2,a3");
+        expandedContext = new CSVDataContext("a1,a2,a3");
+
+        for (int i = 0; i < 200; i++)
+        {
+            int a1 = random.nextInt(3), a2 = random.nextInt(3), a3 = random.nextInt(2), weight = 1 + random.nextInt(5);
+            String values = a1 + "," + a2 + "," + a3;
+            String assignedClass = (a1 + a2 * a3 + random.nextInt(2)) % 3 == 0 ? "Yes" : "No";
+
+            weightedContext.addData(values, assignedClass, weight);
+            for (int copy = 0; copy < weight; copy++)
+            {
+                expandedContext.addData(values, assignedClass);
+            }
+        }
+    }
+
+    static String expandedTree()
+    {
+        return new DecisionTreeClassifier(new Tree(expandedContext.getDataSet(), expandedContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null)).toString();
+    }
+
+    @DisplayName("it builds the same tree from weighted data points as from the expanded data points")
+    @Test
+    void sameAsExpanded()
+    {
+        Tree weighted = new Tree(weightedContext.getDataSet(), weightedContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+
+        assertEquals(expandedTree(), new DecisionTreeClassifier(weighted).toString());
+    }
+
+    @DisplayName("it builds the same tree from weighted columnar data as from the expanded data points")
+    @Test
+    void columnarSameAsExpanded()
+    {
+        Tree weighted = new Tree(weightedContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null);
+
+        assertEquals(expandedTree(), new DecisionTreeClassifier(weighted).toString());
+    }
+
+    @DisplayName("it builds the same incremental tree from weighted data points as from the expanded data points")
+    @Test
+    void incrementalSameAsExpanded()
+    {
+        IncrementalTree incrementalTree = new IncrementalTree(weightedContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver());
+        incrementalTree.addData(weightedContext.getDataSet());
+
+        assertEquals(expandedTree(), new DecisionTreeClassifier(incrementalTree.toTree()).toString());
+    }
+
+    @DisplayName("it rejects training data whose total weight does not fit the counts")
+    @Test
+    void totalWeightOverflow() throws DataContextException
+    {
+        CSVDataContext heavyContext = new CSVDataContext("a1,a2,a3");
+        heavyContext.addData("0,0,0", "Yes", Integer.MAX_VALUE);
+        heavyContext.addData("1,0,0", "No", 1);
+
+        assertThrows(IllegalArgumentException.class, () -> new Tree(heavyContext.getColumnarDataSet(), new MostCommonClassResolver(), new MostCommonValueResolver(), null));
+
+        IncrementalTree incrementalTree = new IncrementalTree(heavyContext.getAttributes(), new MostCommonClassResolver(), new MostCommonValueResolver());
+        assertThrows(IllegalArgumentException.class, () -> incrementalTree.addData(heavyContext.getDataSet()));
+        assertEquals(Integer.MAX_VALUE, incrementalTree.size());
+    }
+
+    @DisplayName("it rejects a weight below 1")
+    @Test
+    void invalidWeight()
+    {
+        assertThrows(DataContextException.class, () -> weightedContext.addData("1,1,1", "Yes", 0));
+    }
+}
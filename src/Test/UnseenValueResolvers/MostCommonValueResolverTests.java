@@ -3,11 +3,18 @@ package Test.UnseenValueResolvers;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.NavigableMap;
 import java.util.TreeMap;
+import java.util.function.Consumer;
 
+import DecisionTree.Classification.CompiledTree;
 import DecisionTree.Data.DataContextException;
 import DecisionTree.Structure.DecisionNode;
+import DecisionTree.Structure.LeafNode;
 import DecisionTree.Structure.Node;
+import DecisionTree.Structure.Tree;
+import DecisionTree.Structure.TreeNavigationException;
 import DecisionTree.UnseenValueResolvers.MostCommonValueResolver;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -68,4 +75,55 @@ public class MostCommonValueResolverTests
 
         assertEquals("b", mostCommonValueResolver.resolve("TA", "unseen", children, null));
     }
+
+    @DisplayName("it prepares the same value as it resolves")
+    @Test
+    void prepare() throws DataContextException
+    {
+        MostCommonValueResolver mostCommonValueResolver = new MostCommonValueResolver();
+
+        TreeMap<String, Node> children = new TreeMap<>();
+        children.put("a", new DecisionNode("A1", mostCommonValueResolver, 1.0, 10));
+        children.put("b", new DecisionNode("A1", mostCommonValueResolver, 1.0, 20));
+        children.put("c", new DecisionNode("A1", mostCommonValueResolver, 1.0, 20));
+
+        assertEquals("b", mostCommonValueResolver.prepare("TA", children));
+        assertEquals(mostCommonValueResolver.resolve("TA", "unseen", children, null), mostCommonValueResolver.prepare("TA", children));
+    }
+
+    @DisplayName("it is not called for unseen values once the tree is constructed")
+    @Test
+    void prepared() throws TreeNavigationException
+    {
+        int[] resolveCalls = new int[1];
+        MostCommonValueResolver mostCommonValueResolver = new MostCommonValueResolver()
+        {
+            @Override
+            public String resolve(String targetAttribute, String attributeValue, NavigableMap<String, Node> children, Consumer<String> logger)
+            {
+                resolveCalls[0]++;
+                return super.resolve(targetAttribute, attributeValue, children, logger);
+            }
+        };
+
+        DecisionNode root = new DecisionNode("TA", mostCommonValueResolver, 1.0, 30);
+        root.addChild("a", new LeafNode("Yes", "", 10));
+        root.addChild("b", new LeafNode("No", "", 20));
+
+        // Before the tree is constructed the resolver is called for each unseen value
+        assertEquals("No", root.nextNode("unseen", null).toString());
+        assertEquals(1, resolveCalls[0]);
+
+        // Constructing a tree freezes its nodes, preparing the child each follows for unseen values
+        Tree tree = new Tree(root);
+        DecisionNode preparedRoot = (DecisionNode) tree.getRoot();
+        ArrayList<String> log = new ArrayList<>();
+        CompiledTree compiledTree = new CompiledTree(tree);
+
+        assertEquals("No", preparedRoot.getPreparedChild().toString());
+        assertEquals("No", preparedRoot.nextNode("unseen", log::add).toString());
+        assertEquals("No", compiledTree.getClassName(compiledTree.classify(new int[] { compiledTree.encode(0, "other") })));
+        assertEquals(1, resolveCalls[0]);
+        assertEquals(mostCommonValueResolver.describeSubstitution("TA", "unseen", "b"), log.get(0));
+    }
 }